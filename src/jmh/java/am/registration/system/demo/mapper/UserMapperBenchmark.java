@@ -0,0 +1,78 @@
+package am.registration.system.demo.mapper;
+
+import am.registration.system.demo.model.dto.UserPrincipal;
+import am.registration.system.demo.model.dto.UserResponse;
+import am.registration.system.demo.model.entity.User;
+import am.registration.system.demo.model.enums.UserState;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.modelmapper.convention.MatchingStrategies.STRICT;
+
+/**
+ * Compares the hand-written {@link UserMapper} conversions with the STRICT {@link ModelMapper}
+ * the application used before, for the entity to response and response to entity mappings.
+ * <p>
+ * Run with {@code ./gradlew jmh}; the gc profiler reports the allocation rate per mapping
+ * ({@code gc.alloc.rate.norm}).
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 12:26:18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserMapperBenchmark {
+
+    private UserMapper userMapper;
+    private ModelMapper modelMapper;
+    private User user;
+    private UserResponse response;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapper(new UserFactory(null, null));
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(STRICT);
+
+        user = new User("benchmark.user", "Benchmark User", "encoded-password", "benchmark.user@example.com",
+                "+37400000000", 30, UserState.ACTIVE, Set.of(), Set.of());
+        user.setUpdatedDate(new Date());
+        response = userMapper.mapFromEntityToResponse(user);
+
+        // Build the type maps outside the measurement, as a long-running application would have
+        modelMapper.map(user, UserResponse.class);
+        modelMapper.map(response, User.class);
+    }
+
+    @Benchmark
+    public UserResponse entityToResponseHandWritten() {
+        return userMapper.mapFromEntityToResponse(user);
+    }
+
+    @Benchmark
+    public UserResponse entityToResponseModelMapper() {
+        return modelMapper.map(user, UserResponse.class);
+    }
+
+    @Benchmark
+    public User responseToEntityHandWritten() {
+        return userMapper.mapFromResponseToEntity(response);
+    }
+
+    @Benchmark
+    public User responseToEntityModelMapper() {
+        return modelMapper.map(response, User.class);
+    }
+
+    @Benchmark
+    public UserPrincipal entityToPrincipal() {
+        return userMapper.mapFromEntityToPrincipal(user);
+    }
+}
@@ -0,0 +1,75 @@
+package am.registration.system.demo.security.password;
+
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the BouncyCastle generator, which allocates a new block matrix per hash,
+ * with the {@link Argon2Engine} filling pooled arenas, using the scalar and the vector compression.
+ * <p>
+ * Run with {@code ./gradlew jmh}; the gc profiler reports the allocation rate per hash
+ * ({@code gc.alloc.rate.norm}) and the GC count and time of each benchmark.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 15:02:41
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(2)
+public class Argon2EngineBenchmark {
+
+    @Param({"16384", "65536"})
+    private int memory;
+
+    @Param({"scalar", "vector"})
+    private String compression;
+
+    private static final int ITERATIONS = 3;
+    private static final int PARALLELISM = 2;
+    private static final int HASH_LENGTH = 64;
+
+    private final byte[] salt = new byte[64];
+    private final byte[] secret = new byte[32];
+    private final char[] password = "correct-horse-battery-staple".toCharArray();
+    private final byte[] passwordBytes = new String(password).getBytes(StandardCharsets.UTF_8);
+
+    private Argon2Engine engine;
+    private Argon2HashParameters parameters;
+
+    @Setup
+    public void setUp() {
+        SecureRandom random = new SecureRandom();
+        random.nextBytes(salt);
+        random.nextBytes(secret);
+        engine = new Argon2Engine(new Argon2BlockArenaPool(2), null, Argon2Engine.createCompressor(compression));
+        parameters = new Argon2HashParameters(Argon2Type.ARGON2_I, memory, ITERATIONS, PARALLELISM, HASH_LENGTH);
+    }
+
+    @Benchmark
+    public byte[] bouncyCastleGenerator() {
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(new Argon2Parameters.Builder(Argon2Parameters.ARGON2_i)
+                .withSalt(salt)
+                .withSecret(secret)
+                .withParallelism(PARALLELISM)
+                .withMemoryAsKB(memory)
+                .withIterations(ITERATIONS)
+                .build());
+        byte[] hash = new byte[HASH_LENGTH];
+        generator.generateBytes(password, hash);
+        return hash;
+    }
+
+    @Benchmark
+    public byte[] pooledArenaEngine() {
+        return engine.hash(parameters, passwordBytes, salt, secret);
+    }
+}
@@ -0,0 +1,80 @@
+package am.registration.system.demo.security.password;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Argon2Hashing#encode} and {@link Argon2Hashing#matches} end to end, including the
+ * hashing pool hand-off, PHC formatting and parsing, across a grid of Argon2id cost parameters.
+ * <p>
+ * The password components are wired by a minimal application context with the given parameters,
+ * so the benchmark runs exactly the beans the application runs. Calibration is disabled to keep
+ * the parameters fixed.
+ * </p>
+ * <p>
+ * Run with {@code ./gradlew jmh}; throughput and the sampled latency percentiles are reported for
+ * every grid point, and the gc profiler adds the allocation rate per hash ({@code gc.alloc.rate.norm}).
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 11:14:52
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Argon2HashingBenchmark {
+
+    @Param({"16384", "65536"})
+    private int memory;
+
+    @Param({"2", "3"})
+    private int iterations;
+
+    @Param({"1", "2"})
+    private int parallelism;
+
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    private AnnotationConfigApplicationContext context;
+    private Argon2Hashing argon2Hashing;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "application.security.argon2.memory", memory,
+                "application.security.argon2.iterations", iterations,
+                "application.security.argon2.parallelism", parallelism,
+                "application.security.argon2.hashLength", 64,
+                "application.security.argon2.saltLength", 16,
+                "application.security.argon2.secretKey", "benchmark-secret-key",
+                "application.security.argon2.calibrate", false)));
+        context.register(Argon2Properties.class, Argon2Engine.class, Argon2Calibrator.class,
+                Argon2HashingExecutor.class, Argon2Hashing.class);
+        context.refresh();
+
+        argon2Hashing = context.getBean(Argon2Hashing.class);
+        encodedPassword = argon2Hashing.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String encode() {
+        return argon2Hashing.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return argon2Hashing.matches(PASSWORD, encodedPassword);
+    }
+}
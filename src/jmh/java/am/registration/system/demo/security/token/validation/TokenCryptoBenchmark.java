@@ -0,0 +1,217 @@
+package am.registration.system.demo.security.token.validation;
+
+import am.registration.system.demo.api.response.ApiResponse;
+import am.registration.system.demo.api.response.ApiResponseBuilder;
+import am.registration.system.demo.mapper.UserFactory;
+import am.registration.system.demo.mapper.UserMapper;
+import am.registration.system.demo.model.dto.UserPrincipal;
+import am.registration.system.demo.model.dto.UserResponse;
+import am.registration.system.demo.model.enums.Permissions;
+import am.registration.system.demo.model.enums.UserState;
+import am.registration.system.demo.security.rbac.PermissionMask;
+import am.registration.system.demo.security.token.claims.TokenClaimsFactory;
+import am.registration.system.demo.security.token.claims.TokenClaimsMapper;
+import am.registration.system.demo.security.token.configuration.UserTokenProperties;
+import am.registration.system.demo.security.token.enums.TokenPurpose;
+import am.registration.system.demo.security.token.strategy.EmailVerificationTokenStrategy;
+import am.registration.system.demo.security.token.strategy.JwtTokenStrategy;
+import am.registration.system.demo.security.token.strategy.PasswordResetTokenStrategy;
+import am.registration.system.demo.service.user.management.UserManagementService;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.security.cert.Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the token crypto hot paths: ES256 signing through {@link JwtTokenStrategy},
+ * ES256 verification through {@link JwtTokenValidator}, and HS256 signing through
+ * {@link PasswordResetTokenStrategy} and {@link EmailVerificationTokenStrategy}.
+ * <p>
+ * The token beans are wired by a minimal application context over a freshly generated P-256 key store
+ * and random HMAC secrets. The user lookup of the password reset strategy is answered from memory,
+ * so only the mapping and signing are measured. Verification runs with the verified token cache
+ * disabled ({@code 0}, every call checks the signature) and enabled (every call after the first is a hit).
+ * </p>
+ * <p>
+ * Run with {@code ./gradlew jmh}; throughput and the sampled latency percentiles are reported for
+ * each path, and the gc profiler adds the allocation rate per token ({@code gc.alloc.rate.norm}).
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 11:41:06
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TokenCryptoBenchmark {
+
+    @Param({"0", "10000"})
+    private int verifiedTokenCacheSize;
+
+    private static final String KEYSTORE_ALIAS = "benchmark";
+    private static final String KEYSTORE_PASSWORD = "benchmark-password";
+    private static final String USERNAME = "benchmark.user";
+    private static final String EMAIL = "benchmark.user@example.com";
+
+    private Path keyStorePath;
+    private AnnotationConfigApplicationContext context;
+    private JwtTokenStrategy jwtTokenStrategy;
+    private JwtTokenValidator jwtTokenValidator;
+    private PasswordResetTokenStrategy passwordResetTokenStrategy;
+    private EmailVerificationTokenStrategy emailVerificationTokenStrategy;
+    private Map<String, Object> jwtClaims;
+    private Map<String, Object> userClaims;
+    private String jwtToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        keyStorePath = createKeyStore();
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "application.security.jwt.keystorePath", keyStorePath.toString(),
+                "application.security.jwt.keystorePassword", KEYSTORE_PASSWORD,
+                "application.security.jwt.keystoreAlias", KEYSTORE_ALIAS,
+                "application.security.jwt.expiration", 720,
+                "application.security.jwt.verifiedTokenCacheSize", verifiedTokenCacheSize,
+                "application.security.passwordResetToken.secret", randomHmacSecret(),
+                "application.security.passwordResetToken.expiration", 3,
+                "application.security.emailVerificationToken.secret", randomHmacSecret(),
+                "application.security.emailVerificationToken.expiration", 15)));
+        context.scan("am.registration.system.demo.security.token.claims",
+                "am.registration.system.demo.security.token.key",
+                "am.registration.system.demo.security.token.strategy");
+        context.register(UserTokenProperties.class, UserMapper.class,
+                TokenParser.class, VerifiedTokenCache.class, JwtTokenValidator.class);
+        context.registerBean(UserFactory.class, () -> new UserFactory(null, null));
+        context.registerBean(UserManagementService.class, () -> new InMemoryUserManagementService(user()));
+        context.refresh();
+
+        jwtTokenStrategy = context.getBean(JwtTokenStrategy.class);
+        jwtTokenValidator = context.getBean(JwtTokenValidator.class);
+        passwordResetTokenStrategy = context.getBean(PasswordResetTokenStrategy.class);
+        emailVerificationTokenStrategy = context.getBean(EmailVerificationTokenStrategy.class);
+
+        TokenClaimsFactory tokenClaimsFactory = context.getBean(TokenClaimsFactory.class);
+        TokenClaimsMapper tokenClaimsMapper = context.getBean(TokenClaimsMapper.class);
+        UserPrincipal principal = new UserPrincipal(1, USERNAME, null, EMAIL,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), UserState.ACTIVE);
+        jwtClaims = tokenClaimsMapper.mapJwtClaims(tokenClaimsFactory.createJwtTokenClaims(principal,
+                PermissionMask.of(EnumSet.of(Permissions.UPDATE_PROFILE, Permissions.CREATE_CONTENT, Permissions.VIEW_OWN_CONTENT))));
+        userClaims = tokenClaimsMapper.mapUserClaims(tokenClaimsFactory.createUserTokenClaims(
+                1, USERNAME, EMAIL, TokenPurpose.PASSWORD_RESET));
+        jwtToken = jwtTokenStrategy.generateToken(jwtClaims, USERNAME);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        Files.deleteIfExists(keyStorePath);
+    }
+
+    @Benchmark
+    public String jwtGenerateToken() {
+        return jwtTokenStrategy.generateToken(jwtClaims, USERNAME);
+    }
+
+    @Benchmark
+    public VerifiedToken jwtVerifyToken() {
+        return jwtTokenValidator.verify(jwtToken);
+    }
+
+    @Benchmark
+    public String passwordResetGenerateToken() {
+        return passwordResetTokenStrategy.generateToken(userClaims, USERNAME);
+    }
+
+    @Benchmark
+    public String emailVerificationGenerateToken() {
+        return emailVerificationTokenStrategy.generateToken(userClaims, USERNAME);
+    }
+
+    /**
+     * Writes a PKCS12 key store holding a P-256 key pair and a self-signed certificate,
+     * in the layout the {@code JwtKeyProvider} loads.
+     *
+     * @return the path of the key store file
+     * @throws Exception if the key pair, certificate or key store could not be created
+     */
+    private static Path createKeyStore() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+
+        X500Name subject = new X500Name("CN=" + KEYSTORE_ALIAS);
+        Date notBefore = new Date();
+        Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(1));
+        Certificate certificate = new JcaX509CertificateConverter().getCertificate(
+                new JcaX509v3CertificateBuilder(subject, BigInteger.ONE, notBefore, notAfter, subject, keyPair.getPublic())
+                        .build(new JcaContentSignerBuilder("SHA256withECDSA").build(keyPair.getPrivate())));
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setKeyEntry(KEYSTORE_ALIAS, keyPair.getPrivate(), KEYSTORE_PASSWORD.toCharArray(),
+                new Certificate[]{certificate});
+
+        Path path = Files.createTempFile("benchmark-keystore", ".p12");
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            keyStore.store(stream, KEYSTORE_PASSWORD.toCharArray());
+        }
+        return path;
+    }
+
+    /**
+     * Generates a random 256-bit HMAC secret in the Base64 form the token properties expect.
+     *
+     * @return the Base64 encoded secret
+     */
+    private static String randomHmacSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+
+    private static UserResponse user() {
+        Date now = new Date();
+        return new UserResponse(1, now, now, USERNAME, "Benchmark User", EMAIL, "+37400000000", 30, UserState.ACTIVE);
+    }
+
+    /**
+     * Answers the user lookup of the password reset strategy from memory.
+     */
+    private static final class InMemoryUserManagementService extends UserManagementService {
+
+        private final ApiResponseBuilder<UserResponse> response;
+
+        private InMemoryUserManagementService(UserResponse user) {
+            super(null, null);
+            this.response = ApiResponse.success(user, "benchmark");
+        }
+
+        @Override
+        public ApiResponseBuilder<UserResponse> getUserByUsername(final String username) {
+            return response;
+        }
+    }
+}
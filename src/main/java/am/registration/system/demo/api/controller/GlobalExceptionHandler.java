@@ -1,5 +1,10 @@
 package am.registration.system.demo.api.controller;
 
+import am.registration.system.demo.exception.PasswordHashingUnavailableException;
+import am.registration.system.demo.util.LogMessages;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -8,6 +13,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.nio.file.AccessDeniedException;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -18,6 +24,15 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * The fields guarded by the unique constraints of {@code usr}, with the message the validators give when they
+     * are in use, by constraint name.
+     */
+    private static final Map<String, Map.Entry<String, String>> USER_UNIQUE_CONSTRAINTS = Map.of(
+            "usr_username_key", Map.entry("username", LogMessages.USERNAME_IN_USE),
+            "usr_email_key", Map.entry("email", LogMessages.EMAIL_IN_USE),
+            "usr_phone_key", Map.entry("phone", LogMessages.PHONE_IN_USE));
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationException(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -26,11 +41,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errors);
     }
 
+    /**
+     * Reports a user whose username, email or phone was stored concurrently, or was missed by the availability
+     * filters, as the field being in use, in the shape of a validation failure.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        String constraint = ex.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        Map.Entry<String, String> field = constraint == null ? null : USER_UNIQUE_CONSTRAINTS.get(constraint.toLowerCase(Locale.ROOT));
+        if (field == null) {
+            return handleGlobalException(ex);
+        }
+        return ResponseEntity.badRequest().body(Map.of(field.getKey(), field.getValue()));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<String> handleAccessDeniedException(AccessDeniedException ex) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied: " + ex.getMessage());
     }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<String> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGlobalException(Exception ex) {
         StackTraceElement[] stackTrace = ex.getStackTrace();
@@ -0,0 +1,66 @@
+package am.registration.system.demo.api.controller;
+
+import am.registration.system.demo.api.response.ApiResponseBuilder;
+import am.registration.system.demo.email.MailDeliveryStatistics;
+import am.registration.system.demo.security.password.Argon2CalibrationResult;
+import am.registration.system.demo.security.password.PasswordHashingStatistics;
+import am.registration.system.demo.security.token.sweeper.TokenPartitionStatistics;
+import am.registration.system.demo.security.token.sweeper.TokenSweepStatistics;
+import am.registration.system.demo.security.token.validation.TokenCacheStatistics;
+import am.registration.system.demo.service.monitoring.MonitoringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 13:47:10
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/admin/monitoring")
+public class MonitoringController {
+
+    private final MonitoringService monitoringService;
+
+    @GetMapping("/password-hashing")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseBuilder<PasswordHashingStatistics>> getPasswordHashingStatistics() {
+        return new ResponseEntity<>(monitoringService.getPasswordHashingStatistics(), HttpStatus.OK);
+    }
+
+    @GetMapping("/password-hashing/parameters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseBuilder<Argon2CalibrationResult>> getPasswordHashingParameters() {
+        return new ResponseEntity<>(monitoringService.getPasswordHashingParameters(), HttpStatus.OK);
+    }
+
+    @GetMapping("/token-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseBuilder<TokenCacheStatistics>> getTokenCacheStatistics() {
+        return new ResponseEntity<>(monitoringService.getTokenCacheStatistics(), HttpStatus.OK);
+    }
+
+    @GetMapping("/mail-delivery")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseBuilder<MailDeliveryStatistics>> getMailDeliveryStatistics() {
+        return new ResponseEntity<>(monitoringService.getMailDeliveryStatistics(), HttpStatus.OK);
+    }
+
+    @GetMapping("/token-sweeper")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseBuilder<TokenSweepStatistics>> getTokenSweepStatistics() {
+        return new ResponseEntity<>(monitoringService.getTokenSweepStatistics(), HttpStatus.OK);
+    }
+
+    @GetMapping("/token-partitions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseBuilder<TokenPartitionStatistics>> getTokenPartitionStatistics() {
+        return new ResponseEntity<>(monitoringService.getTokenPartitionStatistics(), HttpStatus.OK);
+    }
+}
@@ -3,9 +3,11 @@ package am.registration.system.demo.api.controller;
 import am.registration.system.demo.api.response.ApiResponse;
 import am.registration.system.demo.api.response.ApiResponseBuilder;
 import am.registration.system.demo.model.dto.AuthenticationRequest;
+import am.registration.system.demo.model.dto.UserAvailabilityResponse;
 import am.registration.system.demo.model.dto.UserRequest;
 import am.registration.system.demo.model.dto.UserResponse;
 import am.registration.system.demo.service.user.authentication.UserAccountService;
+import am.registration.system.demo.service.user.availability.UserAvailabilityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -25,6 +27,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserAccountController {
 
     private final UserAccountService userAccountService;
+    private final UserAvailabilityService userAvailabilityService;
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponseBuilder<UserResponse>> register(@RequestBody @Valid UserRequest request) {
@@ -32,6 +35,14 @@ public class UserAccountController {
         return buildResponse(result);
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponseBuilder<UserAvailabilityResponse>> checkAvailability(@RequestParam(required = false) String username,
+                                                                                          @RequestParam(required = false) String email,
+                                                                                          @RequestParam(required = false) String phone) {
+        var result = userAvailabilityService.checkAvailability(username, email, phone);
+        return buildResponse(result);
+    }
+
     @GetMapping("/verify-email/{token}")
     public ResponseEntity<ApiResponseBuilder<String>> verifyEmail(@PathVariable String token) {
         var result = userAccountService.verifyUserEmail(token);
@@ -2,19 +2,37 @@ package am.registration.system.demo.api.controller;
 
 import am.registration.system.demo.api.response.ApiResponse;
 import am.registration.system.demo.api.response.ApiResponseBuilder;
+import am.registration.system.demo.model.dto.UserFilter;
+import am.registration.system.demo.model.dto.UserImportReport;
+import am.registration.system.demo.model.dto.UserPageResponse;
 import am.registration.system.demo.model.dto.UserRequest;
 import am.registration.system.demo.model.dto.UserResponse;
+import am.registration.system.demo.model.enums.Roles;
+import am.registration.system.demo.model.enums.UserState;
+import am.registration.system.demo.service.user.bulkimport.UserImportService;
+import am.registration.system.demo.service.user.export.UserExportFormat;
+import am.registration.system.demo.service.user.export.UserExportProperties;
+import am.registration.system.demo.service.user.export.UserExportService;
 import am.registration.system.demo.service.user.management.UserManagementService;
 import am.registration.system.demo.service.user.management.UserUpdateService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
 
 /**
  * Author: Artyom Aroyan
@@ -28,10 +46,13 @@ import java.util.List;
 public class UserManagementController {
 
     private final UserUpdateService userUpdateService;
+    private final UserExportService userExportService;
+    private final UserExportProperties userExportProperties;
+    private final UserImportService userImportService;
     private final UserManagementService userManagementService;
 
     @PutMapping("update/{id}")
-    @PreAuthorize("hasRole('USER') && hasPermission(#id, 'USER', ' UPDATE_PROFILE,')")
+    @PreAuthorize("hasRole('USER') && hasPermission(#id, 'USER', 'UPDATE_PROFILE')")
     public ResponseEntity<ApiResponseBuilder<UserResponse>> updateUser(@PathVariable Integer id, @RequestBody @Valid UserRequest request) {
         var result = userUpdateService.update(id, request);
         return buildResponse(result);
@@ -39,8 +60,39 @@ public class UserManagementController {
 
     @GetMapping("/get-all-users")
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
-    public ResponseEntity<ApiResponseBuilder<List<UserResponse>>> getAllUsers() {
-        var result = userManagementService.getAllUsers();
+    public ResponseEntity<ApiResponseBuilder<UserPageResponse>> getAllUsers(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size,
+            @RequestParam(required = false) UserState userState,
+            @RequestParam(required = false) Roles role,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date createdTo) {
+        var filter = new UserFilter(userState, role, createdFrom, createdTo);
+        var result = userManagementService.getUsers(filter, after, size);
+        return buildResponse(result);
+    }
+
+    /**
+     * Streams all users into the response body. The export runs as an async request with its own
+     * {@code application.userExport.timeout}, so other async requests keep the default timeout.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public WebAsyncTask<Void> exportUsers(@RequestParam(defaultValue = "NDJSON") UserExportFormat format,
+                                          HttpServletResponse response) {
+        response.setContentType(MediaType.parseMediaType(format.getMediaType()).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getExtension() + "\"");
+        return new WebAsyncTask<>(userExportProperties.getTimeout(), () -> {
+            userExportService.export(format, response.getOutputStream());
+            return null;
+        });
+    }
+
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseBuilder<UserImportReport>> importUsers(@RequestParam(defaultValue = "NDJSON") UserExportFormat format,
+                                                                            InputStream body) throws IOException {
+        var result = userImportService.importUsers(format, body);
         return buildResponse(result);
     }
 
@@ -77,6 +77,7 @@ public class SecurityConfiguration {
 
     /**
      * Configures the authentication provider with Argon2 password hashing and custom user details service.
+     * Passwords whose encoding is outdated are rehashed and stored after a successful login.
      *
      * @return the authentication provider
      */
@@ -85,6 +86,7 @@ public class SecurityConfiguration {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(customUserDetails);
         provider.setPasswordEncoder(argon2Hashing);
+        provider.setUserDetailsPasswordService(customUserDetails);
         return provider;
     }
 
@@ -176,6 +178,7 @@ public class SecurityConfiguration {
                         .requestMatchers(PUBLIC_URLS)
                             .permitAll()
                         .requestMatchers("/api/v1/user/account/register/**",
+                                "/api/v1/user/account/availability",
                                 "/api/v1/user/account/login",
                                 "/api/v1/user/account/verify-email/**",
                                 "/api/v1/user/password-reset/send-email",
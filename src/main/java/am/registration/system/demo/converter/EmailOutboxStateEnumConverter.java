@@ -0,0 +1,16 @@
+package am.registration.system.demo.converter;
+
+import am.registration.system.demo.model.enums.EmailOutboxState;
+import jakarta.persistence.Converter;
+
+/**
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:53:02
+ */
+@Converter(autoApply = true)
+public class EmailOutboxStateEnumConverter extends EnumConverter<EmailOutboxState> {
+    public EmailOutboxStateEnumConverter() {
+        super(EmailOutboxState.class);
+    }
+}
@@ -3,7 +3,6 @@ package am.registration.system.demo.email;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 import java.util.Properties;
@@ -25,6 +24,11 @@ import java.util.Properties;
 @RequiredArgsConstructor
 public class EmailConfiguration {
 
+    /**
+     * The connect, read and write timeout of the SMTP sockets, which bounds each step of a delivery.
+     */
+    static final int SMTP_TIMEOUT_MILLIS = 10_000;
+
     private final EmailProperties emailProperties;
 
     /**
@@ -34,10 +38,14 @@ public class EmailConfiguration {
      * Enables STARTTLS and SMTP authentication to ensure secure email communication.
      * </p>
      *
+     * The sender is exposed with its implementation type, whose session, server and credentials
+     * the {@link MailDeliveryEngine} reuses for its pooled connections. Socket timeouts keep a
+     * stalled server from blocking a delivery thread indefinitely.
+     *
      * @return a configured JavaMailSender bean
      */
     @Bean
-    protected JavaMailSender javaMailSender() {
+    protected JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setHost(emailProperties.getHost());
         mailSender.setPort(emailProperties.getPort());
@@ -49,6 +57,9 @@ public class EmailConfiguration {
         properties.put("mail.smtp.starttls.enable", "true");
         properties.put("mail.smtp.starttls.required", emailProperties.isSmtpStarttlsRequired());
         properties.put("mail.transport.protocol", emailProperties.getProtocol());
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(SMTP_TIMEOUT_MILLIS));
+        properties.put("mail.smtp.timeout", String.valueOf(SMTP_TIMEOUT_MILLIS));
+        properties.put("mail.smtp.writetimeout", String.valueOf(SMTP_TIMEOUT_MILLIS));
 
         mailSender.setJavaMailProperties(properties);
         return mailSender;
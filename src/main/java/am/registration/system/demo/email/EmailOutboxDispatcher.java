@@ -0,0 +1,213 @@
+package am.registration.system.demo.email;
+
+import am.registration.system.demo.util.LogMessages;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the emails queued in the outbox.
+ * <p>
+ * Every poll claims up to {@code batchSize} due messages in one statement: the rows are selected with
+ * {@code FOR UPDATE SKIP LOCKED}, so dispatchers on several nodes claim disjoint batches without waiting
+ * for each other, and their next attempt is pushed a lease ahead, so no other node picks them up while
+ * they are being sent. The batch is handed to the {@link MailDeliveryEngine} in one go, which sends it over
+ * its pooled SMTP connections; no transaction or database connection is held meanwhile.
+ * </p>
+ * <p>
+ * The lease is {@code leaseSeconds}, raised if needed to the longest a batch may take: each connection sends
+ * its share of the batch, and a message may wait out the SMTP timeout twice, once on a dropped connection and
+ * once on its retry. The polls run on a thread of their own, so a batch stalled on the SMTP server never
+ * delays the jobs of the shared scheduler.
+ * </p>
+ * <p>
+ * A delivered message is marked sent. A failed one is rescheduled with an exponential backoff, from
+ * {@code initialBackoffSeconds} up to {@code maxBackoffSeconds}, until {@code maxAttempts} is reached and
+ * it is marked failed. If a node dies mid-batch, its lease expires and the messages are retried elsewhere;
+ * delivery is therefore at least once.
+ * </p>
+ * <p>
+ * The content of a message holds the verification or password reset link, with the token in clear. It is
+ * therefore erased as soon as the message is sent or given up, and only recipient, subject and delivery
+ * state are kept until the purge; the raw token exists in the database only while its email is pending.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 18:04:27
+ */
+@Slf4j
+@Component
+class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final String CLAIM = """
+            update registration_db.email_outbox o
+            set attempts = o.attempts + 1,
+                next_attempt_at = current_timestamp + make_interval(secs => :leaseSeconds),
+                updated_date = current_timestamp
+            where o.id in (select id from registration_db.email_outbox
+                           where state = 'PENDING' and next_attempt_at <= current_timestamp
+                           order by next_attempt_at
+                           limit :batchSize
+                           for update skip locked)
+            returning o.id, o.recipient, o.subject, o.content, o.attempts""";
+    private static final String MARK_SENT = """
+            update registration_db.email_outbox
+            set state = 'SENT', content = '', sent_date = current_timestamp, updated_date = current_timestamp, last_error = null
+            where id in (:ids)""";
+    private static final String MARK_FAILED = """
+            update registration_db.email_outbox
+            set state = :state,
+                content = case when :state = 'FAILED' then '' else content end,
+                next_attempt_at = current_timestamp + make_interval(secs => :backoffSeconds),
+                updated_date = current_timestamp,
+                last_error = :error
+            where id = :id""";
+    private static final String PURGE_SENT = """
+            delete from registration_db.email_outbox
+            where state = 'SENT' and sent_date < current_timestamp - make_interval(days => :retentionDays)""";
+
+    private final EmailProperties emailProperties;
+    private final MailDeliveryEngine mailDeliveryEngine;
+    private final EmailOutboxProperties properties;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final long leaseSeconds;
+    private final ScheduledExecutorService scheduler;
+
+    EmailOutboxDispatcher(EmailProperties emailProperties, MailDeliveryEngine mailDeliveryEngine,
+                          EmailOutboxProperties properties, MailDeliveryProperties deliveryProperties,
+                          NamedParameterJdbcTemplate jdbcTemplate) {
+        this.emailProperties = emailProperties;
+        this.mailDeliveryEngine = mailDeliveryEngine;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        long messagesPerConnection = Math.ceilDiv(Math.max(1, properties.getBatchSize()), Math.max(1, deliveryProperties.getPoolSize()));
+        long batchSeconds = TimeUnit.MILLISECONDS.toSeconds(messagesPerConnection * 2 * EmailConfiguration.SMTP_TIMEOUT_MILLIS);
+        this.leaseSeconds = Math.max(properties.getLeaseSeconds(), batchSeconds);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    record OutboxEmail(int id, String recipient, String subject, String content, int attempts) {
+    }
+
+    /**
+     * Starts polling the outbox once the application is ready, and so once the schema is migrated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        long pollInterval = Math.max(1, properties.getPollInterval());
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                dispatch();
+            } catch (RuntimeException ex) {
+                log.error("Failed to dispatch the email outbox: {}", ex.getMessage());
+            }
+        }, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Delivers due messages, batch after batch, until none is left.
+     */
+    public void dispatch() {
+        List<OutboxEmail> batch;
+        do {
+            batch = claim();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == properties.getBatchSize());
+    }
+
+    /**
+     * Deletes sent messages older than the retention period.
+     */
+    @Scheduled(cron = "${application.email.outbox.purgeCron:0 30 3 * * *}")
+    public void purge() {
+        int purged = jdbcTemplate.update(PURGE_SENT, Map.of("retentionDays", properties.getRetentionDays()));
+        log.info("Purged {} sent emails from the outbox", purged);
+    }
+
+    private List<OutboxEmail> claim() {
+        var parameters = new MapSqlParameterSource()
+                .addValue("leaseSeconds", leaseSeconds)
+                .addValue("batchSize", properties.getBatchSize());
+        return jdbcTemplate.query(CLAIM, parameters, (resultSet, row) -> new OutboxEmail(
+                resultSet.getInt("id"),
+                resultSet.getString("recipient"),
+                resultSet.getString("subject"),
+                resultSet.getString("content"),
+                resultSet.getInt("attempts")));
+    }
+
+    private void deliver(final List<OutboxEmail> batch) {
+        List<Exception> failures = mailDeliveryEngine.deliver(batch.stream().map(this::toMailMessage).toList());
+        List<Integer> sent = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEmail email = batch.get(i);
+            Exception failure = failures.get(i);
+            if (failure == null) {
+                sent.add(email.id());
+                log.info(LogMessages.EMAIL_SUCCESSFULLY_SENT, email.recipient());
+            } else {
+                log.error(LogMessages.FAILED_TO_SEND_EMAIL, email.recipient(), failure.getMessage());
+                markFailed(email, failure);
+            }
+        }
+        if (!sent.isEmpty()) {
+            jdbcTemplate.update(MARK_SENT, Map.of("ids", sent));
+        }
+    }
+
+    private SimpleMailMessage toMailMessage(final OutboxEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setSentDate(new Date());
+        message.setFrom(emailProperties.getUsername());
+        message.setTo(email.recipient());
+        message.setSubject(email.subject());
+        message.setText(email.content());
+        return message;
+    }
+
+    private void markFailed(final OutboxEmail email, final Exception ex) {
+        boolean exhausted = email.attempts() >= properties.getMaxAttempts();
+        String error = String.valueOf(ex.getMessage());
+        var parameters = new MapSqlParameterSource()
+                .addValue("id", email.id())
+                .addValue("state", exhausted ? "FAILED" : "PENDING")
+                .addValue("backoffSeconds", backoffSeconds(email.attempts()))
+                .addValue("error", error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        jdbcTemplate.update(MARK_FAILED, parameters);
+    }
+
+    /**
+     * The delay before the next attempt: the initial backoff, doubled after every failed attempt, capped.
+     */
+    private long backoffSeconds(final int attempts) {
+        int doublings = Math.min(Math.max(0, attempts - 1), 30);
+        return Math.min(properties.getMaxBackoffSeconds(), properties.getInitialBackoffSeconds() << doublings);
+    }
+}
@@ -0,0 +1,35 @@
+package am.registration.system.demo.email;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties of the email outbox dispatcher, under the prefix {@code application.email.outbox}:
+ * the delay in milliseconds between polls, the number of messages claimed at once, how long a claim holds a message before another node may retry it,
+ * the number of attempts before a message is given up, the first and the longest retry delay (doubling in between),
+ * and how many days sent messages are kept.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:59:41
+ */
+@Getter
+@Component
+class EmailOutboxProperties {
+
+    @Value("${application.email.outbox.pollInterval:1000}")
+    private long pollInterval;
+    @Value("${application.email.outbox.batchSize:50}")
+    private int batchSize;
+    @Value("${application.email.outbox.leaseSeconds:120}")
+    private int leaseSeconds;
+    @Value("${application.email.outbox.maxAttempts:8}")
+    private int maxAttempts;
+    @Value("${application.email.outbox.initialBackoffSeconds:30}")
+    private long initialBackoffSeconds;
+    @Value("${application.email.outbox.maxBackoffSeconds:3600}")
+    private long maxBackoffSeconds;
+    @Value("${application.email.outbox.retentionDays:7}")
+    private int retentionDays;
+}
@@ -1,21 +1,19 @@
 package am.registration.system.demo.email;
 
-import am.registration.system.demo.util.LogMessages;
+import am.registration.system.demo.model.entity.EmailOutboxMessage;
+import am.registration.system.demo.model.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-
-import java.util.Date;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Service responsible for sending emails asynchronously.
+ * Service responsible for sending emails through the transactional outbox.
  * <p>
- * The EmailSender class provides methods to send simple text-based emails using
- * the configured SMTP server. It leverages asynchronous execution to improve performance
- * and avoid blocking the main application thread.
+ * The EmailSender class queues simple text-based emails in the {@code email_outbox} table, within the
+ * transaction of the caller, so an email is sent if and only if the user or token it announces is stored.
+ * The {@link EmailOutboxDispatcher} delivers queued emails in the background over pooled SMTP
+ * connections, so neither request threads nor their database connections wait for the mail server.
  * </p>
  *
  * Author: Artyom Aroyan
@@ -27,35 +25,22 @@ import java.util.Date;
 @RequiredArgsConstructor
 public class EmailSender {
 
-    private final JavaMailSender mailSender;
-    private final EmailProperties emailProperties;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     /**
-     * Sends an email asynchronously.
+     * Queues an email for delivery.
      * <p>
-     * This method creates a simple mail message, sets the necessary fields (recipient,
-     * subject, content), and sends the email using the configured JavaMailSender instance.
-     * The asynchronous annotation ensures the method is executed in a separate thread.
+     * This method stores the recipient, subject and content in the outbox, joining the caller's
+     * transaction if there is one; the email is delivered by the dispatcher once it commits.
      * </p>
      *
      * @param to      the recipient's email address
      * @param subject the subject of the email
      * @param content the body content of the email
      */
-    @Async
+    @Transactional
     public void send(String to, String subject, String content) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setSentDate(new Date());
-            message.setFrom(emailProperties.getUsername());
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(content);
-
-            mailSender.send(message);
-            log.info(LogMessages.EMAIL_SUCCESSFULLY_SENT, to);
-        } catch (Exception ex) {
-            log.error(LogMessages.FAILED_TO_SEND_EMAIL, to, ex.getMessage());
-        }
+        emailOutboxRepository.save(new EmailOutboxMessage(to, subject, content));
+        log.debug("Queued email to {}", to);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package am.registration.system.demo.email;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers batches of emails over a small pool of long-lived, authenticated SMTP connections.
+ * <p>
+ * {@link JavaMailSenderImpl#send} opens a connection, negotiates STARTTLS and authenticates for every
+ * call, so one email costs several round trips before its content is even sent. This engine keeps up to
+ * {@code poolSize} connections open instead, splits each batch across them and sends every slice over its
+ * connection message after message, paying the handshake once per connection rather than once per email.
+ * </p>
+ * <p>
+ * A connection is checked with a {@code NOOP} before each slice, and replaced when the check fails, when
+ * it has carried {@code maxMessagesPerConnection} messages or is older than {@code maxConnectionAge} seconds,
+ * and after any error other than rejected recipients. A message whose send fails on a connection the server
+ * has dropped is retried once on a fresh connection. The session, server and credentials are those of the
+ * configured {@link JavaMailSenderImpl}.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 18:36:52
+ */
+@Slf4j
+@Component
+public class MailDeliveryEngine {
+
+    private final JavaMailSenderImpl mailSender;
+    private final int poolSize;
+    private final long maxConnectionAgeNanos;
+    private final int maxMessagesPerConnection;
+    private final BlockingQueue<PooledTransport> idle;
+    private final ExecutorService executor;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder handshakes = new LongAdder();
+    private final LongAdder recycled = new LongAdder();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private volatile double messagesPerSecond;
+
+    MailDeliveryEngine(JavaMailSenderImpl mailSender, MailDeliveryProperties properties) {
+        this.mailSender = mailSender;
+        this.poolSize = Math.max(1, properties.getPoolSize());
+        this.maxConnectionAgeNanos = TimeUnit.SECONDS.toNanos(properties.getMaxConnectionAge());
+        this.maxMessagesPerConnection = Math.max(1, properties.getMaxMessagesPerConnection());
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            idle.add(new PooledTransport());
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "smtp-delivery-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Delivers the messages, in parallel over the pooled connections, and waits until all are sent or failed.
+     *
+     * @param messages the messages to deliver
+     * @return for each message, in order, null if it was delivered or the exception it failed with; a message a
+     *         crashed worker never got to fails with a "not attempted" exception, so null always means sent
+     */
+    List<Exception> deliver(final List<SimpleMailMessage> messages) {
+        Exception[] failures = new Exception[messages.size()];
+        if (messages.isEmpty()) {
+            return Arrays.asList(failures);
+        }
+        Arrays.fill(failures, new IllegalStateException("Email delivery was not attempted"));
+        long started = System.nanoTime();
+        long sentBefore = sent.sum();
+        int slices = Math.min(poolSize, messages.size());
+        List<Future<?>> futures = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            int first = slice;
+            futures.add(executor.submit(() -> deliverSlice(messages, first, slices, failures)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while delivering emails", ex);
+            } catch (ExecutionException ex) {
+                log.error("Email delivery worker failed: {}", ex.getCause().getMessage());
+            }
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        messagesPerSecond = (sent.sum() - sentBefore) * 1e9 / Math.max(1, elapsedNanos);
+        return Arrays.asList(failures);
+    }
+
+    /**
+     * Returns the current pool counters.
+     *
+     * @return the delivery statistics
+     */
+    public MailDeliveryStatistics getStatistics() {
+        long handshakeCount = handshakes.sum();
+        long sentCount = sent.sum();
+        return new MailDeliveryStatistics(poolSize, openConnections.get(), sentCount, failed.sum(), handshakeCount,
+                recycled.sum(), handshakeCount == 0 ? 0 : (double) sentCount / handshakeCount, messagesPerSecond);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        idle.forEach(PooledTransport::close);
+    }
+
+    /**
+     * Sends every {@code step}-th message, starting at {@code first}, over one pooled connection.
+     */
+    private void deliverSlice(final List<SimpleMailMessage> messages, final int first, final int step, final Exception[] failures) {
+        PooledTransport transport;
+        try {
+            transport = idle.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            for (int i = first; i < messages.size(); i += step) {
+                failures[i] = ex;
+            }
+            return;
+        }
+        try {
+            boolean verify = true;
+            for (int i = first; i < messages.size(); i += step) {
+                try {
+                    failures[i] = send(transport, messages.get(i), verify);
+                } catch (RuntimeException ex) {
+                    transport.close();
+                    recycled.increment();
+                    failed.increment();
+                    failures[i] = ex;
+                }
+                verify = false;
+            }
+        } finally {
+            idle.add(transport);
+        }
+    }
+
+    private Exception send(final PooledTransport pooled, final SimpleMailMessage message, final boolean verify) {
+        MimeMessage mimeMessage;
+        try {
+            mimeMessage = mailSender.createMimeMessage();
+            message.copyTo(new MimeMailMessage(mimeMessage));
+            mimeMessage.saveChanges();
+        } catch (MessagingException | RuntimeException ex) {
+            failed.increment();
+            return ex;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Transport transport = pooled.get(verify || attempt > 1);
+                transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+                pooled.messages++;
+                sent.increment();
+                return null;
+            } catch (SendFailedException ex) {
+                // The server refused the recipients; the connection itself is still usable
+                failed.increment();
+                return ex;
+            } catch (MessagingException | IllegalStateException ex) {
+                pooled.close();
+                recycled.increment();
+                if (attempt == 2) {
+                    failed.increment();
+                    return ex;
+                }
+                log.debug("Retrying email to {} on a new connection: {}", Arrays.toString(message.getTo()), ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One slot of the pool: a connection, when open, with its age and the number of messages it carried.
+     * Used by one delivery thread at a time.
+     */
+    private final class PooledTransport {
+        private Transport transport;
+        private long connectedAt;
+        private int messages;
+
+        /**
+         * Returns an open connection, opening a new one if there is none, if the current one is worn out,
+         * or, when {@code verify} is set, if it no longer answers.
+         */
+        private Transport get(boolean verify) throws MessagingException {
+            if (transport != null) {
+                boolean wornOut = messages >= maxMessagesPerConnection || System.nanoTime() - connectedAt > maxConnectionAgeNanos;
+                if (wornOut || (verify && !transport.isConnected())) {
+                    close();
+                    recycled.increment();
+                }
+            }
+            if (transport == null) {
+                Transport created = mailSender.getSession().getTransport(mailSender.getProtocol());
+                created.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+                transport = created;
+                connectedAt = System.nanoTime();
+                messages = 0;
+                handshakes.increment();
+                openConnections.incrementAndGet();
+            }
+            return transport;
+        }
+
+        private void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException ex) {
+                log.debug("Failed to close SMTP connection: {}", ex.getMessage());
+            } finally {
+                transport = null;
+                openConnections.decrementAndGet();
+            }
+        }
+    }
+}
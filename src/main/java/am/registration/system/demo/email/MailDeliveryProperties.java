@@ -0,0 +1,34 @@
+package am.registration.system.demo.email;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties of the pooled SMTP transports, under the prefix {@code application.email.transport}:
+ * the number of connections kept open, and the age in seconds and number of messages after which a connection
+ * is closed and replaced, so that long-lived connections are recycled before the server drops them.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 18:31:48
+ */
+@Getter
+@Component
+@NoArgsConstructor
+class MailDeliveryProperties {
+
+    @Value("${application.email.transport.poolSize:4}")
+    private int poolSize;
+    @Value("${application.email.transport.maxConnectionAge:300}")
+    private long maxConnectionAge;
+    @Value("${application.email.transport.maxMessagesPerConnection:100}")
+    private int maxMessagesPerConnection;
+
+    MailDeliveryProperties(int poolSize, long maxConnectionAge, int maxMessagesPerConnection) {
+        this.poolSize = poolSize;
+        this.maxConnectionAge = maxConnectionAge;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+    }
+}
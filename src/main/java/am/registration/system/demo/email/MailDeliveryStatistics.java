@@ -0,0 +1,21 @@
+package am.registration.system.demo.email;
+
+/**
+ * A point-in-time snapshot of the pooled SMTP transports.
+ * A handshake is one TCP connection with its STARTTLS and AUTH exchange; {@code messagesPerHandshake}
+ * is how many messages each of them carried on average. {@code messagesPerSecond} is the rate of the
+ * last delivered batch, measured from its first to its last message.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 18:33:15
+ */
+public record MailDeliveryStatistics(int poolSize,
+                                     int openConnections,
+                                     long sent,
+                                     long failed,
+                                     long handshakes,
+                                     long recycled,
+                                     double messagesPerHandshake,
+                                     double messagesPerSecond) {
+}
@@ -0,0 +1,21 @@
+package am.registration.system.demo.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the password hashing pool is saturated and a hash could not start in time.
+ * Carries the number of seconds after which the client may retry.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 13:05:52
+ */
+@Getter
+public class PasswordHashingUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -3,6 +3,7 @@ package am.registration.system.demo.mapper;
 import am.registration.system.demo.model.entity.Role;
 import am.registration.system.demo.model.enums.Roles;
 import am.registration.system.demo.model.repository.RoleRepository;
+import am.registration.system.demo.security.rbac.RbacSnapshotService;
 import am.registration.system.demo.service.permission.PermissionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -26,12 +27,13 @@ public class RoleMapper {
 
     private final RoleRepository roleRepository;
     private final PermissionService permissionService;
+    private final RbacSnapshotService rbacSnapshotService;
 
     /**
      * Retrieves the default user roles from the database.
      * <p>
      * If the default role does not exist, it will be created with the necessary permissions
-     * and saved to the database.
+     * and saved to the database, and the RBAC snapshot is reloaded to include it.
      * </p>
      *
      * @return a set containing the default role
@@ -42,8 +44,9 @@ public class RoleMapper {
                 .map(Set::of)
                 .orElseGet(() -> {
                     var permission = permissionService.getPermissionsByRole(role);
-                    var newRole = new Role(role, permission);
-                    return Set.of(roleRepository.save(newRole));
+                    var newRole = roleRepository.save(new Role(role, permission));
+                    rbacSnapshotService.reload();
+                    return Set.of(newRole);
                 });
     }
 }
\ No newline at end of file
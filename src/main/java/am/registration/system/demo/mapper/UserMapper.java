@@ -4,8 +4,9 @@ import am.registration.system.demo.model.dto.UserPrincipal;
 import am.registration.system.demo.model.dto.UserRequest;
 import am.registration.system.demo.model.dto.UserResponse;
 import am.registration.system.demo.model.entity.User;
+import am.registration.system.demo.security.rbac.PermissionMask;
+import am.registration.system.demo.security.token.claims.TokenClaimsDto;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -15,7 +16,8 @@ import java.util.List;
  * <p>
  * The UserMapper component handles mapping between entity objects (User),
  * DTOs (UserRequest and UserResponse), and security objects (UserPrincipal).
- * It leverages ModelMapper for object conversion and UserFactory for user creation.
+ * The conversions are written out field by field, so no type maps are built at startup and no
+ * reflection runs per call; UserFactory is used for user creation.
  * </p>
  *
  * Author: Artyom Aroyan
@@ -25,7 +27,6 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserMapper {
 
-    private final ModelMapper modelMapper;
     private final UserFactory userFactory;
 
     /**
@@ -35,17 +36,43 @@ public class UserMapper {
      * @return the mapped UserResponse DTO
      */
     public UserResponse mapFromEntityToResponse(User user) {
-        return modelMapper.map(user, UserResponse.class);
+        if (user == null) {
+            return null;
+        }
+        return new UserResponse(
+                user.getId(),
+                user.getCreatedDate(),
+                user.getUpdatedDate(),
+                user.getUsername(),
+                user.getFullName(),
+                user.getEmail(),
+                user.getPhone(),
+                user.getAge(),
+                user.getUserState()
+        );
     }
 
     /**
      * Maps a UserResponse DTO to a User entity.
+     * The ID and creation date are managed by the persistence layer and are not copied;
+     * roles, password and tokens are not part of the response and stay unset.
      *
      * @param response the UserResponse DTO to be mapped
      * @return the mapped User entity
      */
     public User mapFromResponseToEntity(UserResponse response) {
-        return modelMapper.map(response, User.class);
+        if (response == null) {
+            return null;
+        }
+        User user = new User();
+        user.setUpdatedDate(response.getUpdatedDate());
+        user.setUsername(response.getUsername());
+        user.setFullName(response.getFullName());
+        user.setEmail(response.getEmail());
+        user.setPhone(response.getPhone());
+        user.setAge(response.getAge());
+        user.setUserState(response.getUserState());
+        return user;
     }
 
     /**
@@ -88,4 +115,24 @@ public class UserMapper {
                 user.getUserState()
         );
     }
+
+    /**
+     * Maps verified JWT claims to a UserPrincipal without touching the database.
+     * The principal carries no password, as it is only used for request authorization.
+     * Tokens issued without a permission mask yield a principal without permissions.
+     *
+     * @param claims the claims read from a verified JWT
+     * @return the mapped UserPrincipal object
+     */
+    public UserPrincipal mapFromClaimsToPrincipal(TokenClaimsDto claims) {
+        return new UserPrincipal(
+                claims.userId(),
+                claims.username(),
+                null,
+                claims.userEmail(),
+                claims.authorities(),
+                claims.userState(),
+                claims.permissionMask() == null ? PermissionMask.NONE : claims.permissionMask()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package am.registration.system.demo.model.dto;
+
+/**
+ * Whether a username, email and phone number can be used to register.
+ * A value is null when it was not asked for; a malformed value is never available.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:14:08
+ */
+public record UserAvailabilityResponse(Boolean usernameAvailable, Boolean emailAvailable, Boolean phoneAvailable) {
+}
@@ -0,0 +1,17 @@
+package am.registration.system.demo.model.dto;
+
+import am.registration.system.demo.model.enums.Roles;
+import am.registration.system.demo.model.enums.UserState;
+
+import java.util.Date;
+
+/**
+ * Optional filters of the user listing; a null filter matches every user.
+ * The creation date range includes {@code createdFrom} and excludes {@code createdTo}.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 15:12:40
+ */
+public record UserFilter(UserState userState, Roles role, Date createdFrom, Date createdTo) {
+}
@@ -0,0 +1,11 @@
+package am.registration.system.demo.model.dto;
+
+/**
+ * The ID and unique identifiers of a user, as read to build and refresh the availability filters.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:12:31
+ */
+public record UserIdentifiers(Integer id, String username, String email, String phone) {
+}
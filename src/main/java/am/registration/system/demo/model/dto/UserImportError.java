@@ -0,0 +1,11 @@
+package am.registration.system.demo.model.dto;
+
+/**
+ * A rejected row of a bulk user import: its line in the upload and why it was not imported.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 16:31:08
+ */
+public record UserImportError(long line, String username, String message) {
+}
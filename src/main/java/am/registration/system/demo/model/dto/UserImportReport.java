@@ -0,0 +1,16 @@
+package am.registration.system.demo.model.dto;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk user import.
+ * {@code errors} holds the first rejected rows only, up to the configured limit; {@code failed} counts all of them.
+ * {@code rowsPerSecond} is the sustained rate of received rows over the whole import, parsing, hashing and writing included.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 16:32:45
+ */
+public record UserImportReport(long received, long imported, long failed, List<UserImportError> errors,
+                               long elapsedMillis, double rowsPerSecond) {
+}
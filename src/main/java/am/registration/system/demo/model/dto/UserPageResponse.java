@@ -0,0 +1,15 @@
+package am.registration.system.demo.model.dto;
+
+import java.util.List;
+
+/**
+ * One page of the user listing, ordered by user ID.
+ * The next page is requested with {@code nextCursor} as the {@code after} cursor;
+ * it is null once the last page has been returned.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 15:14:03
+ */
+public record UserPageResponse(List<UserResponse> users, Integer nextCursor) {
+}
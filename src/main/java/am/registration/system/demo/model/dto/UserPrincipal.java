@@ -2,7 +2,7 @@ package am.registration.system.demo.model.dto;
 
 import am.registration.system.demo.model.entity.Role;
 import am.registration.system.demo.model.enums.UserState;
-import lombok.AllArgsConstructor;
+import am.registration.system.demo.security.rbac.PermissionMask;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
@@ -24,17 +24,21 @@ import java.util.stream.Collectors;
  * - UserDetails: Enables integration with Spring Security.
  * - Serializable: Allows the object to be serialized, essential for distributed systems.
  * *
+ * * Construction:
+ * - From a set of {@link Role} entities, when the user is loaded from the database.
+ * - From an already resolved authority collection, when the user is rebuilt from verified JWT claims.
+ * - Either way with the permission mask of the user's roles, so permission checks need no lookups;
+ *   principals built without one carry no permissions.
+ * *
  * * Annotations:
  * - @Getter: Generates getter methods for all fields using Lombok.
  * - @NoArgsConstructor: Generates a no-arguments constructor using Lombok.
- * - @AllArgsConstructor: Generates a constructor with all fields using Lombok.
  * *
  * Author: Artyom Aroyan
  * Date: 13.02.25
  */
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 public class UserPrincipal implements UserDetails, Serializable {
 
     @Serial
@@ -44,8 +48,77 @@ public class UserPrincipal implements UserDetails, Serializable {
     private String username;
     private String password;
     private String email;
-    private transient Set<Role> authorities;
+    private transient Collection<? extends GrantedAuthority> authorities;
     private UserState userState;
+    private long permissionMask;
+
+    /**
+     * Creates a principal from the user's role entities.
+     * The roles are converted to granted authorities once, at construction time.
+     *
+     * @param id        the user ID
+     * @param username  the username
+     * @param password  the encoded password
+     * @param email     the email address
+     * @param roles     the roles assigned to the user
+     * @param userState the current state of the user
+     */
+    public UserPrincipal(Integer id, String username, String password, String email, Set<Role> roles, UserState userState) {
+        this(id, username, password, email, roles, userState, PermissionMask.NONE);
+    }
+
+    /**
+     * Creates a principal from the user's role entities and the permission mask of those roles.
+     *
+     * @param id             the user ID
+     * @param username       the username
+     * @param password       the encoded password
+     * @param email          the email address
+     * @param roles          the roles assigned to the user
+     * @param userState      the current state of the user
+     * @param permissionMask the permission mask of the user's roles
+     */
+    public UserPrincipal(Integer id, String username, String password, String email, Set<Role> roles,
+                         UserState userState, long permissionMask) {
+        this(id, username, password, email, convertRolesToAuthorities(roles), userState, permissionMask);
+    }
+
+    /**
+     * Creates a principal from an already resolved authority collection.
+     *
+     * @param id          the user ID
+     * @param username    the username
+     * @param password    the encoded password, or {@code null} when rebuilt from a token
+     * @param email       the email address
+     * @param authorities the granted authorities of the user
+     * @param userState   the current state of the user
+     */
+    public UserPrincipal(Integer id, String username, String password, String email,
+                         Collection<? extends GrantedAuthority> authorities, UserState userState) {
+        this(id, username, password, email, authorities, userState, PermissionMask.NONE);
+    }
+
+    /**
+     * Creates a principal from an already resolved authority collection and permission mask.
+     *
+     * @param id             the user ID
+     * @param username       the username
+     * @param password       the encoded password, or {@code null} when rebuilt from a token
+     * @param email          the email address
+     * @param authorities    the granted authorities of the user
+     * @param userState      the current state of the user
+     * @param permissionMask the permission mask of the user's roles
+     */
+    public UserPrincipal(Integer id, String username, String password, String email,
+                         Collection<? extends GrantedAuthority> authorities, UserState userState, long permissionMask) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.email = email;
+        this.authorities = authorities;
+        this.userState = userState;
+        this.permissionMask = permissionMask;
+    }
 
     /**
      * Retrieves the role names as a set of strings from the granted authorities.
@@ -60,7 +133,7 @@ public class UserPrincipal implements UserDetails, Serializable {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return convertRolesToAuthorities(authorities);
+        return authorities == null ? Set.of() : authorities;
     }
 
     @Override
@@ -100,10 +173,13 @@ public class UserPrincipal implements UserDetails, Serializable {
      * @param roles The set of roles to convert.
      * @return A collection of {@link GrantedAuthority} objects.
      */
-    private Collection<? extends GrantedAuthority> convertRolesToAuthorities(Set<Role> roles) {
+    public static Collection<? extends GrantedAuthority> convertRolesToAuthorities(Set<Role> roles) {
+        if (roles == null) {
+            return Set.of();
+        }
         return roles.stream()
                 .map(role -> new SimpleGrantedAuthority(
                         "ROLE_" + role.getRoles().name().toUpperCase()))
-                .collect(Collectors.toSet());
+                .collect(Collectors.toUnmodifiableSet());
     }
-}
\ No newline at end of file
+}
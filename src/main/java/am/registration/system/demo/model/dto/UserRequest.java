@@ -21,13 +21,20 @@ import lombok.Setter;
 @AllArgsConstructor
 public class UserRequest {
 
+    public static final int MIN_NAME_LENGTH = 5;
+    public static final int MAX_NAME_LENGTH = 20;
+    public static final int MIN_PASSWORD_LENGTH = 8;
+    public static final int MAX_PASSWORD_LENGTH = 30;
+    public static final int MIN_AGE = 18;
+    public static final int MAX_AGE = 99;
+
     @ValidUsername
-    @Size(min = 5, max = 20)
+    @Size(min = MIN_NAME_LENGTH, max = MAX_NAME_LENGTH)
     private String username;
-    @Size(min = 5, max = 20)
+    @Size(min = MIN_NAME_LENGTH, max = MAX_NAME_LENGTH)
     private String fullName;
     @ValidPassword
-    @Size(min = 8, max = 30)
+    @Size(min = MIN_PASSWORD_LENGTH, max = MAX_PASSWORD_LENGTH)
     private String password;
     @Email
     @ValidEmail
@@ -35,7 +42,7 @@ public class UserRequest {
     @ValidPhone
     @Schema(example = "+37493609556")
     private String phone;
-    @Min(value = 18)
-    @Max(value = 99)
+    @Min(value = MIN_AGE)
+    @Max(value = MAX_AGE)
     private int age;
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package am.registration.system.demo.model.entity;
+
+import am.registration.system.demo.converter.EmailOutboxStateEnumConverter;
+import am.registration.system.demo.model.enums.EmailOutboxState;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * An email waiting in the outbox to be delivered by the dispatcher.
+ * It is stored in the same transaction as the user or token it announces, so it is sent
+ * if and only if that transaction commits.
+ * *
+ * * Annotations:
+ * - @Entity: Marks the class as a JPA entity.
+ * - @Table: Specifies the table name and schema in the database.
+ * - @Getter, @Setter: Generate getter and setter methods using Lombok.
+ * - @NoArgsConstructor: Generates the constructor required by JPA.
+ * *
+ * Only the message is mapped: the attempt schedule, delivery date and last error columns are
+ * maintained by the dispatcher and default on insert.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:54:36
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "email_outbox", schema = "registration_db")
+public class EmailOutboxMessage extends BaseEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String recipient;
+    private String subject;
+    private String content;
+    @Convert(converter = EmailOutboxStateEnumConverter.class)
+    private EmailOutboxState state;
+    private int attempts;
+
+    public EmailOutboxMessage(String recipient, String subject, String content) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.content = content;
+        this.state = EmailOutboxState.PENDING;
+    }
+}
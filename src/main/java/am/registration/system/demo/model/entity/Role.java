@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -55,7 +56,9 @@ public class Role extends BaseEntity implements Serializable {
      * - fetch = LAZY: Loads permissions only when accessed, optimizing performance.
      * - cascade = {MERGE, PERSIST, REFRESH}: Propagates changes, creation, and refresh operations to related permissions.
      * - @JoinTable: Specify the join table to link roles and permissions.
+     * - @BatchSize: Initializes the permissions of up to 50 loaded roles in one select, instead of one per role.
      */
+    @BatchSize(size = 50)
     @ManyToMany(fetch = LAZY, cascade = {MERGE, PERSIST, REFRESH})
     @JoinTable(name = "role_permission", joinColumns = @JoinColumn(name = "role_id"),
             inverseJoinColumns = @JoinColumn(name = "permission_id"))
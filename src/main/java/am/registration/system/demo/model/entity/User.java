@@ -2,8 +2,10 @@ package am.registration.system.demo.model.entity;
 
 import am.registration.system.demo.converter.UserStateEnumConverter;
 import am.registration.system.demo.model.enums.UserState;
+import am.registration.system.demo.service.user.availability.UserAvailabilityListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -24,6 +26,7 @@ import static jakarta.persistence.FetchType.LAZY;
  * * Annotations:
  * - @Entity: Marks the class as a JPA entity.
  * - @Table: Specifies the table name and schema in the database.
+ * - @EntityListeners: Records the identifiers of stored users in the availability filters.
  * - @Getter, @Setter: Generate getter and setter methods using Lombok.
  * - @NoArgsConstructor, @AllArgsConstructor: Generate constructors using Lombok.
  * *
@@ -36,6 +39,7 @@ import static jakarta.persistence.FetchType.LAZY;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "usr", schema = "registration_db")
+@EntityListeners(UserAvailabilityListener.class)
 public class User extends BaseEntity implements Serializable {
 
     @Serial
@@ -59,7 +63,9 @@ public class User extends BaseEntity implements Serializable {
      * - fetch = LAZY: Loads roles only when accessed, saving memory and processing.
      * - cascade = {MERGE, PERSIST}: Allows automatic merging and persisting of related roles.
      * - @JoinTable: Defines a join table with foreign keys for users and roles.
+     * - @BatchSize: Initializes the roles of up to 50 loaded users in one select, instead of one per user.
      */
+    @BatchSize(size = 50)
     @ManyToMany(fetch = LAZY, cascade = {MERGE, PERSIST})
     @JoinTable(name = "user_role", joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -43,7 +43,16 @@ public class UserToken extends BaseEntity implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The token sent to the user. It is not stored; it is only set on a newly created token, so that it
+     * can be put in the email.
+     */
+    @Transient
     private String token;
+    /**
+     * The SHA-256 digest of the token, by which the token is looked up.
+     */
+    private byte[] tokenDigest;
     private Date expireDate;
 
     @Convert(converter = TokenPurpoesEnumConverter.class)
@@ -0,0 +1,15 @@
+package am.registration.system.demo.model.enums;
+
+/**
+ * The delivery state of an outbox email: waiting for a (next) attempt, delivered,
+ * or given up on after the maximum number of attempts.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:52:10
+ */
+public enum EmailOutboxState {
+    PENDING,
+    SENT,
+    FAILED
+}
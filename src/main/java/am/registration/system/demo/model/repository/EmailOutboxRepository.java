@@ -0,0 +1,14 @@
+package am.registration.system.demo.model.repository;
+
+import am.registration.system.demo.model.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:57:20
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Integer> {
+}
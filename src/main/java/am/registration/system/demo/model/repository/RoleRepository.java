@@ -2,9 +2,11 @@ package am.registration.system.demo.model.repository;
 
 import am.registration.system.demo.model.entity.Role;
 import am.registration.system.demo.model.enums.Roles;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,4 +16,12 @@ import java.util.Optional;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByRoles(Roles roles);
+
+    /**
+     * Loads all roles together with their permissions in a single query.
+     *
+     * @return all roles with their permissions initialized
+     */
+    @EntityGraph(attributePaths = "permissions")
+    List<Role> findAllWithPermissionsBy();
 }
\ No newline at end of file
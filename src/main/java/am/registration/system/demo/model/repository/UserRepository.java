@@ -1,32 +1,94 @@
 package am.registration.system.demo.model.repository;
 
+import am.registration.system.demo.model.dto.UserIdentifiers;
 import am.registration.system.demo.model.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Author: Artyom Aroyan
  * Date: 17.02.25
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserStreamRepository {
 
     Optional<User> findUsersByEmail(String email);
 
     Optional<User> findUserByUsername(String username);
 
+    /**
+     * Loads the user together with its roles in a single query, as needed to authenticate the user
+     * and issue its token. The permissions of the roles come from the RBAC snapshot, so they are not joined.
+     *
+     * @param username the username of the user
+     * @return the user with its roles initialized, if found
+     */
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByUsername(String username);
+
     Optional<User> findUserByFullName(String fullName);
 
+    /**
+     * Finds the ID of the first user created at or after the instant, read from the (created_date, id) index.
+     *
+     * @param createdFrom the inclusive start of the creation date range
+     * @return the ID of the first user of the range, if any
+     */
+    @Query("select u.id from User u where u.createdDate >= :createdFrom order by u.createdDate, u.id limit 1")
+    Optional<Integer> findFirstIdCreatedFrom(@Param("createdFrom") Date createdFrom);
+
+    /**
+     * Finds the ID of the last user created before the instant, read from the (created_date, id) index.
+     *
+     * @param createdTo the exclusive end of the creation date range
+     * @return the ID of the last user of the range, if any
+     */
+    @Query("select u.id from User u where u.createdDate < :createdTo order by u.createdDate desc, u.id desc limit 1")
+    Optional<Integer> findLastIdCreatedBefore(@Param("createdTo") Date createdTo);
+
+    /**
+     * Reads the identifiers of the users stored after the given one, in ID order, from the primary key index.
+     *
+     * @param lastSeenId the ID of the last user already read
+     * @param limit      the maximum number of users to read
+     * @return the identifiers of the next users
+     */
+    @Query("select new am.registration.system.demo.model.dto.UserIdentifiers(u.id, u.username, u.email, u.phone) "
+            + "from User u where u.id > :lastSeenId order by u.id")
+    List<UserIdentifiers> findIdentifiersAfter(@Param("lastSeenId") Integer lastSeenId, Limit limit);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
 
+    boolean existsByPhone(String phone);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.phone from User u where u.phone in :phones")
+    Set<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
     @Modifying
     @Query("update User u set u.userState = 'ACTIVE' where u.userState = 'PENDING' and u.id = :id")
     void updateUserState(@Param("id") Integer id);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    void updatePassword(@Param("username") String username, @Param("password") String password);
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package am.registration.system.demo.model.repository;
+
+import am.registration.system.demo.model.dto.UserFilter;
+import am.registration.system.demo.model.entity.Role;
+import am.registration.system.demo.model.entity.User;
+import am.registration.system.demo.model.enums.Roles;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Query predicates of the keyset-paginated user listing.
+ * Only the filters that are set become predicates, so the database can use the index of each
+ * filter instead of evaluating optional {@code is null} conditions for every row. The creation date
+ * range is also bounded by the ids of its first and last user, so the primary key walk starts and
+ * stops at the range instead of checking every row before and after it.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 15:20:57
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Builds the predicate of one page: the users after the cursor that match the filter.
+     *
+     * @param filter the listing filters
+     * @param after  the ID of the last user of the previous page, or null for the first page
+     * @param fromId the ID of the first user of the creation date range, or null when it has no start
+     * @param toId   the ID of the last user of the creation date range, or null when it has no end
+     * @return the combined specification
+     */
+    public static Specification<User> page(UserFilter filter, Integer after, Integer fromId, Integer toId) {
+        Specification<User> specification = Specification.where(null);
+        if (after != null) {
+            specification = specification.and(idGreaterThan(after));
+        }
+        if (fromId != null) {
+            specification = specification.and((root, query, builder) ->
+                    builder.greaterThanOrEqualTo(root.get("id"), fromId));
+        }
+        if (toId != null) {
+            specification = specification.and((root, query, builder) ->
+                    builder.lessThanOrEqualTo(root.get("id"), toId));
+        }
+        if (filter.userState() != null) {
+            specification = specification.and((root, query, builder) ->
+                    builder.equal(root.get("userState"), filter.userState()));
+        }
+        if (filter.createdFrom() != null) {
+            specification = specification.and((root, query, builder) ->
+                    builder.greaterThanOrEqualTo(root.get("createdDate"), filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            specification = specification.and((root, query, builder) ->
+                    builder.lessThan(root.get("createdDate"), filter.createdTo()));
+        }
+        if (filter.role() != null) {
+            specification = specification.and(hasRole(filter.role()));
+        }
+        return specification;
+    }
+
+    private static Specification<User> idGreaterThan(Integer id) {
+        return (root, query, builder) -> builder.greaterThan(root.get("id"), id);
+    }
+
+    /**
+     * Matches users holding the role, as an {@code exists} subquery so each user is returned once.
+     *
+     * @param role the role
+     * @return the specification
+     */
+    private static Specification<User> hasRole(Roles role) {
+        return (root, query, builder) -> {
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Root<User> user = subquery.correlate(root);
+            Join<User, Role> roles = user.join("roles");
+            subquery.select(builder.literal(1))
+                    .where(builder.equal(roles.get("roles"), role));
+            return builder.exists(subquery);
+        };
+    }
+}
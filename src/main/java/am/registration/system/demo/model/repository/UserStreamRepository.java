@@ -0,0 +1,35 @@
+package am.registration.system.demo.model.repository;
+
+import am.registration.system.demo.model.dto.UserIdentifiers;
+import am.registration.system.demo.model.dto.UserResponse;
+
+import java.util.stream.Stream;
+
+/**
+ * Streaming reads of the whole usr table, with the JDBC fetch size chosen by the caller.
+ * Rows are read straight from the result set and are not managed by the persistence context,
+ * so memory stays flat however many users there are. The streams must be consumed, and closed,
+ * within a transaction.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 19:42:18
+ */
+public interface UserStreamRepository {
+
+    /**
+     * Streams all users, ordered by ID, as response rows.
+     *
+     * @param fetchSize the number of rows fetched from the database cursor at a time
+     * @return the stream of all users
+     */
+    Stream<UserResponse> streamAllForExport(int fetchSize);
+
+    /**
+     * Streams the ID, username, email and phone of every user.
+     *
+     * @param fetchSize the number of rows fetched from the database cursor at a time
+     * @return the stream of the identifiers of all users
+     */
+    Stream<UserIdentifiers> streamAllIdentifiers(int fetchSize);
+}
@@ -0,0 +1,43 @@
+package am.registration.system.demo.model.repository;
+
+import am.registration.system.demo.model.dto.UserIdentifiers;
+import am.registration.system.demo.model.dto.UserResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * {@link UserStreamRepository} fragment of the {@link UserRepository}, setting the fetch size hint
+ * on each query from the caller's configuration.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 19:44:05
+ */
+class UserStreamRepositoryImpl implements UserStreamRepository {
+
+    private static final String EXPORT_QUERY = "select new am.registration.system.demo.model.dto.UserResponse(u.id, "
+            + "u.createdDate, u.updatedDate, u.username, u.fullName, u.email, u.phone, u.age, u.userState) "
+            + "from User u order by u.id";
+    private static final String IDENTIFIERS_QUERY =
+            "select new am.registration.system.demo.model.dto.UserIdentifiers(u.id, u.username, u.email, u.phone) from User u";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<UserResponse> streamAllForExport(int fetchSize) {
+        return entityManager.createQuery(EXPORT_QUERY, UserResponse.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<UserIdentifiers> streamAllIdentifiers(int fetchSize) {
+        return entityManager.createQuery(IDENTIFIERS_QUERY, UserIdentifiers.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+}
@@ -1,12 +1,14 @@
 package am.registration.system.demo.model.repository;
 
 import am.registration.system.demo.model.entity.UserToken;
+import am.registration.system.demo.security.token.service.OpaqueTokenGenerator;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,9 +18,51 @@ import java.util.Optional;
 @Repository
 public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
 
-    Optional<UserToken> findByToken(@Param("token") String token);
+    /**
+     * Finds the newest token with the digest. user_token is partitioned by expire_date, so its unique index is
+     * (token_digest, expire_date) and a digest alone is not guaranteed to be unique; UserTokenService does not
+     * store one twice, and should a concurrent insert slip through, the newest row wins.
+     */
+    Optional<UserToken> findFirstByTokenDigestOrderByIdDesc(@Param("tokenDigest") byte[] tokenDigest);
 
-    @Modifying
-    @Query("update UserToken ut set ut.tokenState = 'FORCIBLY_EXPIRED' where ut.tokenState = 'PENDING' and ut.expireDate < CURRENT_TIMESTAMP")
-    int markExpiredTokens();
+    @Query("select ut.user.username from UserToken ut where ut.tokenDigest = :tokenDigest order by ut.id desc")
+    List<String> findUsernamesByTokenDigest(@Param("tokenDigest") byte[] tokenDigest);
+
+    /**
+     * Finds a token by the value sent to the user, through its digest.
+     */
+    default Optional<UserToken> findByToken(String token) {
+        return token == null ? Optional.empty() : findFirstByTokenDigestOrderByIdDesc(OpaqueTokenGenerator.digest(token));
+    }
+
+    /**
+     * Consumes a pending, unexpired account verification token of a pending user and activates the user,
+     * in one statement. A token of a user in any other state, for example BLOCKED, is left untouched.
+     * Of concurrent calls with the same token only one gets the user id back; the others find it already consumed.
+     * The statement writes, so it runs in a read-write transaction of its own unless the caller already has one.
+     *
+     * @return the id of the activated user, or empty if no such token was pending
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            with consumed as (
+                update registration_db.user_token t
+                set token_state = 'VERIFIED', updated_date = current_timestamp
+                from registration_db.usr u
+                where t.token_digest = :tokenDigest
+                  and t.token_purpose = 'ACCOUNT_VERIFICATION'
+                  and t.token_state = 'PENDING'
+                  and t.expire_date > current_timestamp
+                  and u.id = t.user_id
+                  and u.user_state = 'PENDING'
+                returning t.user_id
+            ), activated as (
+                update registration_db.usr u
+                set user_state = 'ACTIVE', updated_date = current_timestamp
+                from consumed c
+                where u.id = c.user_id and u.user_state = 'PENDING'
+                returning u.id
+            )
+            select id from activated limit 1""")
+    Optional<Integer> consumeVerificationToken(@Param("tokenDigest") byte[] tokenDigest);
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package am.registration.system.demo.security.password;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A pool of reusable Argon2 block matrices.
+ * <p>
+ * Each arena is a heap {@code long[]} holding the whole block matrix of one hash, 128 words per
+ * 1 KB block. Arenas are handed out to hashing workers and zeroed before they are returned, so no
+ * password-derived state outlives a hash. The pool keeps at most one arena per hashing thread;
+ * arenas that are too small for the requested memory are dropped and replaced. Arenas larger than
+ * the memory of the hashes this node creates, as used to verify a stored hash with a larger
+ * {@code m}, are dropped after use, so one such hash cannot leave oversized arenas in every slot.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 14:09:44
+ */
+final class Argon2BlockArenaPool {
+
+    static final int BLOCK_WORDS = 128;
+
+    private final BlockingQueue<long[]> arenas;
+    private final long maxPooledWords;
+
+    Argon2BlockArenaPool(int capacity) {
+        this(capacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a pool that keeps only arenas of at most the given number of blocks.
+     *
+     * @param capacity        the number of arenas kept
+     * @param maxPooledBlocks the largest arena, in 1 KB blocks, that is returned to the pool
+     */
+    Argon2BlockArenaPool(int capacity, int maxPooledBlocks) {
+        this.arenas = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.maxPooledWords = (long) maxPooledBlocks * BLOCK_WORDS;
+    }
+
+    /**
+     * Takes an arena large enough for the given number of blocks, allocating one if none is pooled.
+     *
+     * @param blocks the number of 1 KB blocks required
+     * @return an all-zero arena of at least {@code blocks * 128} words
+     */
+    long[] acquire(final int blocks) {
+        long[] arena;
+        while ((arena = arenas.poll()) != null) {
+            if (arena.length >= blocks * BLOCK_WORDS) {
+                return arena;
+            }
+        }
+        return new long[blocks * BLOCK_WORDS];
+    }
+
+    /**
+     * Zeroes the used part of the arena and returns it to the pool, unless it is larger than the
+     * pool keeps.
+     *
+     * @param arena  the arena to return
+     * @param blocks the number of blocks that were used
+     */
+    void release(final long[] arena, final int blocks) {
+        Arrays.fill(arena, 0, blocks * BLOCK_WORDS, 0L);
+        if (arena.length <= maxPooledWords) {
+            arenas.offer(arena);
+        }
+    }
+
+    /**
+     * Returns the number of arenas currently pooled.
+     *
+     * @return the number of idle arenas
+     */
+    int size() {
+        return arenas.size();
+    }
+}
@@ -0,0 +1,22 @@
+package am.registration.system.demo.security.password;
+
+/**
+ * The Argon2 cost parameters new hashes are encoded with, and how they were chosen.
+ * When calibration is disabled the configured parameters are reported and the
+ * measurement fields are zero. Latencies are in milliseconds, memory in kilobytes.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 18:02:11
+ */
+public record Argon2CalibrationResult(boolean calibrated,
+                                      String variant,
+                                      int memory,
+                                      int iterations,
+                                      int parallelism,
+                                      double measuredP99Millis,
+                                      long targetP99Millis,
+                                      int memoryCeiling,
+                                      int concurrency,
+                                      long calibrationMillis) {
+}
@@ -0,0 +1,196 @@
+package am.registration.system.demo.security.password;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the Argon2 cost parameters new hashes are encoded with.
+ * <p>
+ * Without calibration these are the configured {@code memory}, {@code iterations} and {@code parallelism}.
+ * With {@code application.security.argon2.calibrate} enabled, the engine is benchmarked on the host at
+ * startup, with as many concurrent hashes as the hashing pool runs, and the strongest parameters whose
+ * p99 latency stays within {@code calibrationTargetLatency} are chosen:
+ * </p>
+ * * Search:
+ * - Parallelism stays as configured, so the lane pool keeps its size.
+ * - Memory starts at the ceiling, {@code calibrationMemoryCeiling} capped by the share of the memory budget
+ *   per hashing thread, and is halved until one iteration meets the target.
+ * - Iterations are then raised while the target is still met.
+ * - If even the smallest memory misses the target, the smallest candidate is used and a warning is logged.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 18:09:37
+ */
+@Slf4j
+@Component
+class Argon2Calibrator {
+
+    private static final int MINIMUM_MEMORY = 8 * 1024;
+    private static final int MAXIMUM_ITERATIONS = 10;
+    private static final int SALT_LENGTH = 16;
+
+    private final Argon2Engine argon2Engine;
+    private final Argon2Properties argon2Properties;
+
+    private volatile Argon2HashParameters currentParameters;
+    private volatile Argon2CalibrationResult result;
+
+    Argon2Calibrator(Argon2Engine argon2Engine, Argon2Properties argon2Properties) {
+        this.argon2Engine = argon2Engine;
+        this.argon2Properties = argon2Properties;
+        this.currentParameters = new Argon2HashParameters(Argon2Type.ARGON2_ID,
+                argon2Properties.getMemory(),
+                argon2Properties.getIterations(),
+                argon2Properties.getParallelism(),
+                argon2Properties.getHashLength());
+        this.result = new Argon2CalibrationResult(false, Argon2Type.ARGON2_ID.getPhcName(),
+                argon2Properties.getMemory(), argon2Properties.getIterations(), argon2Properties.getParallelism(),
+                0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Runs the calibration when it is enabled.
+     */
+    @PostConstruct
+    void calibrate() {
+        if (!argon2Properties.isCalibrate()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        int parallelism = argon2Properties.getParallelism();
+        int concurrency = argon2Properties.getHashingPoolSize();
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(argon2Properties.getCalibrationTargetLatency());
+        int ceiling = argon2Properties.getLocalMemoryCeiling();
+        int floor = Math.max(MINIMUM_MEMORY, 8 * parallelism);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, new Argon2ThreadFactory("argon2-calibration-"));
+        try {
+            Argon2HashParameters chosen = null;
+            long chosenP99 = 0;
+            for (int memory = Math.max(ceiling, floor); memory >= floor && chosen == null; memory /= 2) {
+                Argon2HashParameters candidate = parameters(memory, 1, parallelism);
+                long p99 = measureP99(candidate, concurrency, workers);
+                if (p99 <= targetNanos || memory / 2 < floor) {
+                    chosen = candidate;
+                    chosenP99 = p99;
+                }
+            }
+
+            if (chosenP99 > targetNanos) {
+                log.warn("Argon2 calibration: even {} KB with 1 iteration takes {} ms at p99, above the {} ms target",
+                        chosen.memory(), toMillis(chosenP99), argon2Properties.getCalibrationTargetLatency());
+            } else {
+                for (int iterations = 2; iterations <= MAXIMUM_ITERATIONS; iterations++) {
+                    Argon2HashParameters candidate = parameters(chosen.memory(), iterations, parallelism);
+                    long p99 = measureP99(candidate, concurrency, workers);
+                    if (p99 > targetNanos) {
+                        break;
+                    }
+                    chosen = candidate;
+                    chosenP99 = p99;
+                }
+            }
+
+            currentParameters = chosen;
+            result = new Argon2CalibrationResult(true, chosen.type().getPhcName(), chosen.memory(), chosen.iterations(),
+                    chosen.parallelism(), toMillis(chosenP99), argon2Properties.getCalibrationTargetLatency(), ceiling,
+                    concurrency, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            log.info("Argon2 calibration chose m={} KB, t={}, p={} with p99 {} ms at {} concurrent hashes (target {} ms)",
+                    chosen.memory(), chosen.iterations(), chosen.parallelism(), toMillis(chosenP99), concurrency,
+                    argon2Properties.getCalibrationTargetLatency());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the parameters new hashes are encoded with.
+     *
+     * @return the current Argon2id parameters
+     */
+    Argon2HashParameters getCurrentParameters() {
+        return currentParameters;
+    }
+
+    /**
+     * Returns the current parameters and how they were chosen.
+     *
+     * @return the calibration result
+     */
+    Argon2CalibrationResult getResult() {
+        return result;
+    }
+
+    private Argon2HashParameters parameters(int memory, int iterations, int parallelism) {
+        return new Argon2HashParameters(Argon2Type.ARGON2_ID, memory, iterations, parallelism, argon2Properties.getHashLength());
+    }
+
+    /**
+     * Hashes with the candidate parameters from {@code concurrency} threads at once, after one warm-up
+     * round, and returns the 99th percentile of the individual hash latencies.
+     */
+    private long measureP99(final Argon2HashParameters candidate, final int concurrency, final ExecutorService workers) {
+        int samples = Math.max(argon2Properties.getCalibrationSamples(), concurrency);
+        SecureRandom random = new SecureRandom();
+        byte[] password = new byte[16];
+        byte[] secret = argon2Properties.getSecret().getBytes(StandardCharsets.UTF_8);
+        random.nextBytes(password);
+
+        runRound(candidate, concurrency, concurrency, workers, password, secret, random);
+        List<Long> latencies = runRound(candidate, concurrency, samples, workers, password, secret, random);
+        latencies.sort(null);
+        int index = (int) Math.ceil(latencies.size() * 0.99) - 1;
+        return latencies.get(Math.max(0, index));
+    }
+
+    private List<Long> runRound(final Argon2HashParameters candidate, final int concurrency, final int samples,
+                                final ExecutorService workers, final byte[] password, final byte[] secret,
+                                final SecureRandom random) {
+        List<Callable<List<Long>>> tasks = new ArrayList<>();
+        for (int worker = 0; worker < concurrency; worker++) {
+            int share = samples / concurrency + (worker < samples % concurrency ? 1 : 0);
+            tasks.add(() -> {
+                List<Long> latencies = new ArrayList<>(share);
+                byte[] salt = new byte[SALT_LENGTH];
+                for (int i = 0; i < share; i++) {
+                    random.nextBytes(salt);
+                    long startedAt = System.nanoTime();
+                    argon2Engine.hash(candidate, password, salt, secret);
+                    latencies.add(System.nanoTime() - startedAt);
+                }
+                return latencies;
+            });
+        }
+
+        List<Long> latencies = new ArrayList<>(samples);
+        try {
+            for (Future<List<Long>> future : workers.invokeAll(tasks)) {
+                latencies.addAll(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Argon2 calibration was interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Argon2 calibration failed", ex.getCause());
+        }
+        return latencies;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,35 @@
+package am.registration.system.demo.security.password;
+
+/**
+ * The Argon2 compression function G over 1 KB blocks of 128 words.
+ * <p>
+ * {@code out = P(x ^ y) ^ (x ^ y)}, additionally XORed with the previous content of {@code out}
+ * when {@code withXor} is set (passes after the first). P applies the BLAKE2b round with the
+ * BlaMka multiplication to the eight rows and then the eight columns of the block.
+ * The output may alias {@code y}; both inputs are read before it is written.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 16:01:27
+ */
+interface Argon2Compressor {
+
+    int BLOCK_WORDS = Argon2BlockArenaPool.BLOCK_WORDS;
+
+    /**
+     * Compresses two blocks into the output block.
+     *
+     * @param x         the first input array
+     * @param xOffset   the word offset of the first input block
+     * @param y         the second input array
+     * @param yOffset   the word offset of the second input block
+     * @param out       the output array
+     * @param outOffset the word offset of the output block
+     * @param withXor   whether the result is XORed into the existing output block
+     * @param scratchR  a 128-word scratch block owned by the caller
+     * @param scratchQ  a second 128-word scratch block owned by the caller
+     */
+    void compress(long[] x, int xOffset, long[] y, int yOffset, long[] out, int outOffset, boolean withXor,
+                  long[] scratchR, long[] scratchQ);
+}
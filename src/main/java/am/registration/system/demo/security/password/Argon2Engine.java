@@ -0,0 +1,435 @@
+package am.registration.system.demo.security.password;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An Argon2 (RFC 9106, version 0x13) implementation that fills pooled block arenas.
+ * <p>
+ * The BouncyCastle {@code Argon2BytesGenerator} allocates a fresh block matrix of {@code memory}
+ * kilobytes for every hash, which the garbage collector sees as a humongous allocation. This engine
+ * computes the same output for the same parameters, but fills the blocks of a {@code long[]} arena
+ * taken from the {@link Argon2BlockArenaPool} and zeroed when it is returned.
+ * </p>
+ * *
+ * * Layout:
+ * - The arena holds {@code memoryBlocks} blocks of 128 little-endian words, lane after lane.
+ * - Each lane is split into four slices; a segment is one slice of one lane.
+ * *
+ * * Lanes:
+ * - Segments of the same slice never reference each other, so with {@code parallelLanes} enabled
+ *   the lanes of a slice are filled concurrently: lane 0 on the calling thread, the others on a
+ *   dedicated lane pool, joined before the next slice starts.
+ * - The lane pool has {@code parallelism - 1} threads per hashing thread, so every running hash
+ *   gets its lanes scheduled without waiting behind another hash.
+ * *
+ * * Compression:
+ * - {@code compression: scalar} uses the portable {@link ScalarArgon2Compressor}.
+ * - {@code compression: vector} uses the {@code VectorArgon2Compressor} when the
+ *   {@code jdk.incubator.vector} module is present and the CPU has 256-bit vectors,
+ *   and falls back to the scalar one otherwise. It is compiled in the {@code vector} source set,
+ *   the only one built with the incubator module, and is therefore loaded by name.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 14:16:20
+ */
+@Slf4j
+@Component
+class Argon2Engine {
+
+    private static final int VERSION = 0x13;
+    private static final int SYNC_POINTS = 4;
+    private static final int BLOCK_WORDS = Argon2BlockArenaPool.BLOCK_WORDS;
+    private static final int BLOCK_BYTES = BLOCK_WORDS * Long.BYTES;
+    private static final int PREHASH_DIGEST_LENGTH = 64;
+    private static final int PREHASH_SEED_LENGTH = PREHASH_DIGEST_LENGTH + 8;
+    private static final String VECTOR_COMPRESSOR = Argon2Engine.class.getPackageName() + ".VectorArgon2Compressor";
+
+    private final Argon2BlockArenaPool arenaPool;
+    private final ExecutorService laneExecutor;
+    private final Argon2Compressor compressor;
+
+    @Autowired
+    Argon2Engine(Argon2Properties argon2Properties) {
+        this(new Argon2BlockArenaPool(argon2Properties.getHashingPoolSize(), argon2Properties.getLocalMemoryCeiling()), createLaneExecutor(argon2Properties),
+                createCompressor(argon2Properties.getCompression()));
+    }
+
+    /**
+     * Creates an engine over the given arena pool.
+     *
+     * @param arenaPool    the pool of block arenas
+     * @param laneExecutor the pool filling lanes 1..p-1 of each slice, or null to fill lanes sequentially
+     * @param compressor   the compression function implementation
+     */
+    Argon2Engine(Argon2BlockArenaPool arenaPool, ExecutorService laneExecutor, Argon2Compressor compressor) {
+        this.arenaPool = arenaPool;
+        this.laneExecutor = laneExecutor;
+        this.compressor = compressor;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (laneExecutor != null) {
+            laneExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Computes the Argon2 tag of the password.
+     *
+     * @param parameters the variant and cost parameters
+     * @param password   the password bytes
+     * @param salt       the salt
+     * @param secret     the secret (pepper), may be empty
+     * @return the tag of {@code parameters.hashLength()} bytes
+     */
+    byte[] hash(final Argon2HashParameters parameters, final byte[] password, final byte[] salt, final byte[] secret) {
+        Instance instance = new Instance(parameters);
+        long[] memory = arenaPool.acquire(instance.memoryBlocks);
+        try {
+            initialize(instance, memory, password, salt, secret);
+            fillMemory(instance, memory);
+            return finalizeHash(instance, memory);
+        } finally {
+            arenaPool.release(memory, instance.memoryBlocks);
+        }
+    }
+
+    /**
+     * Computes the pre-hashing digest H0 and derives the first two blocks of every lane from it.
+     */
+    private void initialize(final Instance instance, final long[] memory,
+                            final byte[] password, final byte[] salt, final byte[] secret) {
+        Blake2bDigest digest = new Blake2bDigest(PREHASH_DIGEST_LENGTH * 8);
+        Argon2HashParameters parameters = instance.parameters;
+        updateInt(digest, parameters.parallelism());
+        updateInt(digest, parameters.hashLength());
+        updateInt(digest, parameters.memory());
+        updateInt(digest, parameters.iterations());
+        updateInt(digest, VERSION);
+        updateInt(digest, parameters.type().getId());
+        updateBytes(digest, password);
+        updateBytes(digest, salt);
+        updateBytes(digest, secret);
+        updateBytes(digest, null);
+
+        byte[] seed = new byte[PREHASH_SEED_LENGTH];
+        digest.doFinal(seed, 0);
+
+        byte[] blockBytes = new byte[BLOCK_BYTES];
+        for (int lane = 0; lane < parameters.parallelism(); lane++) {
+            for (int index = 0; index < 2; index++) {
+                intToLittleEndian(index, seed, PREHASH_DIGEST_LENGTH);
+                intToLittleEndian(lane, seed, PREHASH_DIGEST_LENGTH + 4);
+                blake2bLong(blockBytes, seed);
+                bytesToWords(blockBytes, memory, (lane * instance.laneLength + index) * BLOCK_WORDS);
+            }
+        }
+        Arrays.fill(seed, (byte) 0);
+        Arrays.fill(blockBytes, (byte) 0);
+    }
+
+    /**
+     * Runs all passes over the memory, slice by slice so that every lane only references
+     * segments that are already complete.
+     */
+    private void fillMemory(final Instance instance, final long[] memory) {
+        int lanes = instance.parameters.parallelism();
+        for (int pass = 0; pass < instance.parameters.iterations(); pass++) {
+            for (int slice = 0; slice < SYNC_POINTS; slice++) {
+                if (laneExecutor == null || lanes == 1) {
+                    for (int lane = 0; lane < lanes; lane++) {
+                        fillSegment(instance, memory, pass, lane, slice);
+                    }
+                } else {
+                    fillSliceConcurrently(instance, memory, pass, slice);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the segments of one slice in parallel and waits until all lanes are done,
+     * which also publishes their blocks to the threads filling the next slice.
+     */
+    private void fillSliceConcurrently(final Instance instance, final long[] memory, final int pass, final int slice) {
+        int lanes = instance.parameters.parallelism();
+        CompletableFuture<?>[] segments = new CompletableFuture<?>[lanes - 1];
+        for (int lane = 1; lane < lanes; lane++) {
+            final int segmentLane = lane;
+            segments[lane - 1] = CompletableFuture.runAsync(
+                    () -> fillSegment(instance, memory, pass, segmentLane, slice), laneExecutor);
+        }
+        fillSegment(instance, memory, pass, 0, slice);
+        CompletableFuture.allOf(segments).join();
+    }
+
+    /**
+     * Fills one segment, computing the reference block of every position either from the
+     * previous block (data-dependent) or from a generated address block (data-independent).
+     */
+    private void fillSegment(final Instance instance, final long[] memory, final int pass, final int lane, final int slice) {
+        Argon2Type type = instance.parameters.type();
+        boolean dataIndependent = type == Argon2Type.ARGON2_I
+                || (type == Argon2Type.ARGON2_ID && pass == 0 && slice < SYNC_POINTS / 2);
+
+        long[] scratchR = new long[BLOCK_WORDS];
+        long[] scratchQ = new long[BLOCK_WORDS];
+        long[] addressBlock = null;
+        long[] inputBlock = null;
+        long[] zeroBlock = null;
+        if (dataIndependent) {
+            addressBlock = new long[BLOCK_WORDS];
+            inputBlock = new long[BLOCK_WORDS];
+            zeroBlock = new long[BLOCK_WORDS];
+            inputBlock[0] = pass;
+            inputBlock[1] = lane;
+            inputBlock[2] = slice;
+            inputBlock[3] = instance.memoryBlocks;
+            inputBlock[4] = instance.parameters.iterations();
+            inputBlock[5] = type.getId();
+        }
+
+        int startingIndex = 0;
+        if (pass == 0 && slice == 0) {
+            startingIndex = 2;
+            if (dataIndependent) {
+                nextAddresses(addressBlock, inputBlock, zeroBlock, scratchR, scratchQ);
+            }
+        }
+
+        int laneLength = instance.laneLength;
+        int currentOffset = lane * laneLength + slice * instance.segmentLength + startingIndex;
+        int previousOffset = currentOffset % laneLength == 0 ? currentOffset + laneLength - 1 : currentOffset - 1;
+
+        for (int index = startingIndex; index < instance.segmentLength; index++, currentOffset++, previousOffset++) {
+            if (currentOffset % laneLength == 1) {
+                previousOffset = currentOffset - 1;
+            }
+
+            long pseudoRandom;
+            if (dataIndependent) {
+                if (index % BLOCK_WORDS == 0) {
+                    nextAddresses(addressBlock, inputBlock, zeroBlock, scratchR, scratchQ);
+                }
+                pseudoRandom = addressBlock[index % BLOCK_WORDS];
+            } else {
+                pseudoRandom = memory[previousOffset * BLOCK_WORDS];
+            }
+
+            int referenceLane = (pass == 0 && slice == 0)
+                    ? lane
+                    : (int) ((pseudoRandom >>> 32) % instance.parameters.parallelism());
+            int referenceIndex = indexAlpha(instance, pass, slice, index, pseudoRandom & 0xFFFFFFFFL, referenceLane == lane);
+            int referenceOffset = referenceLane * laneLength + referenceIndex;
+
+            compressor.compress(memory, previousOffset * BLOCK_WORDS, memory, referenceOffset * BLOCK_WORDS,
+                    memory, currentOffset * BLOCK_WORDS, pass != 0, scratchR, scratchQ);
+        }
+    }
+
+    /**
+     * Maps the low 32 bits of the pseudo-random value to a block index within the reference lane.
+     */
+    private int indexAlpha(final Instance instance, final int pass, final int slice, final int index,
+                           final long pseudoRandom, final boolean sameLane) {
+        long referenceAreaSize;
+        if (pass == 0) {
+            if (slice == 0) {
+                referenceAreaSize = index - 1;
+            } else if (sameLane) {
+                referenceAreaSize = (long) slice * instance.segmentLength + index - 1;
+            } else {
+                referenceAreaSize = (long) slice * instance.segmentLength + (index == 0 ? -1 : 0);
+            }
+        } else {
+            if (sameLane) {
+                referenceAreaSize = instance.laneLength - instance.segmentLength + index - 1;
+            } else {
+                referenceAreaSize = instance.laneLength - instance.segmentLength + (index == 0 ? -1 : 0);
+            }
+        }
+
+        long relativePosition = (pseudoRandom * pseudoRandom) >>> 32;
+        relativePosition = referenceAreaSize - 1 - ((referenceAreaSize * relativePosition) >>> 32);
+
+        long startPosition = 0;
+        if (pass != 0 && slice != SYNC_POINTS - 1) {
+            startPosition = (long) (slice + 1) * instance.segmentLength;
+        }
+        return (int) ((startPosition + relativePosition) % instance.laneLength);
+    }
+
+    /**
+     * Generates the next block of 128 pseudo-random reference addresses.
+     */
+    private void nextAddresses(final long[] addressBlock, final long[] inputBlock, final long[] zeroBlock,
+                               final long[] scratchR, final long[] scratchQ) {
+        inputBlock[6]++;
+        compressor.compress(zeroBlock, 0, inputBlock, 0, addressBlock, 0, false, scratchR, scratchQ);
+        compressor.compress(zeroBlock, 0, addressBlock, 0, addressBlock, 0, false, scratchR, scratchQ);
+    }
+
+    /**
+     * XORs the last block of every lane and hashes the result into the output tag.
+     */
+    private byte[] finalizeHash(final Instance instance, final long[] memory) {
+        long[] finalBlock = new long[BLOCK_WORDS];
+        for (int lane = 0; lane < instance.parameters.parallelism(); lane++) {
+            int lastBlockOffset = (lane * instance.laneLength + instance.laneLength - 1) * BLOCK_WORDS;
+            for (int i = 0; i < BLOCK_WORDS; i++) {
+                finalBlock[i] ^= memory[lastBlockOffset + i];
+            }
+        }
+
+        byte[] finalBytes = new byte[BLOCK_BYTES];
+        wordsToBytes(finalBlock, finalBytes);
+        byte[] tag = new byte[instance.parameters.hashLength()];
+        blake2bLong(tag, finalBytes);
+        Arrays.fill(finalBlock, 0L);
+        Arrays.fill(finalBytes, (byte) 0);
+        return tag;
+    }
+
+    /**
+     * The variable-length hash function H' built on BLAKE2b.
+     */
+    private static void blake2bLong(final byte[] out, final byte[] input) {
+        byte[] outLength = new byte[4];
+        intToLittleEndian(out.length, outLength, 0);
+
+        if (out.length <= PREHASH_DIGEST_LENGTH) {
+            Blake2bDigest digest = new Blake2bDigest(out.length * 8);
+            digest.update(outLength, 0, outLength.length);
+            digest.update(input, 0, input.length);
+            digest.doFinal(out, 0);
+            return;
+        }
+
+        Blake2bDigest digest = new Blake2bDigest(PREHASH_DIGEST_LENGTH * 8);
+        byte[] chain = new byte[PREHASH_DIGEST_LENGTH];
+        digest.update(outLength, 0, outLength.length);
+        digest.update(input, 0, input.length);
+        digest.doFinal(chain, 0);
+
+        int halfDigest = PREHASH_DIGEST_LENGTH / 2;
+        System.arraycopy(chain, 0, out, 0, halfDigest);
+        int position = halfDigest;
+        int rounds = (out.length + halfDigest - 1) / halfDigest - 2;
+        for (int i = 2; i <= rounds; i++) {
+            digest.update(chain, 0, chain.length);
+            digest.doFinal(chain, 0);
+            System.arraycopy(chain, 0, out, position, halfDigest);
+            position += halfDigest;
+        }
+
+        Blake2bDigest lastDigest = new Blake2bDigest((out.length - position) * 8);
+        lastDigest.update(chain, 0, chain.length);
+        lastDigest.doFinal(out, position);
+        Arrays.fill(chain, (byte) 0);
+    }
+
+    private static void updateInt(final Blake2bDigest digest, final int value) {
+        byte[] bytes = new byte[4];
+        intToLittleEndian(value, bytes, 0);
+        digest.update(bytes, 0, bytes.length);
+    }
+
+    private static void updateBytes(final Blake2bDigest digest, final byte[] value) {
+        if (value == null) {
+            updateInt(digest, 0);
+            return;
+        }
+        updateInt(digest, value.length);
+        digest.update(value, 0, value.length);
+    }
+
+    private static void intToLittleEndian(final int value, final byte[] bytes, final int offset) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+        bytes[offset + 2] = (byte) (value >>> 16);
+        bytes[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static void bytesToWords(final byte[] bytes, final long[] words, final int offset) {
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            long word = 0;
+            for (int b = 7; b >= 0; b--) {
+                word = (word << 8) | (bytes[i * 8 + b] & 0xFFL);
+            }
+            words[offset + i] = word;
+        }
+    }
+
+    private static void wordsToBytes(final long[] words, final byte[] bytes) {
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            long word = words[i];
+            for (int b = 0; b < 8; b++) {
+                bytes[i * 8 + b] = (byte) (word >>> (8 * b));
+            }
+        }
+    }
+
+    /**
+     * Selects the compression function. The vector module is checked before the vector
+     * implementation is loaded, since loading it without the module fails.
+     */
+    static Argon2Compressor createCompressor(final String compression) {
+        if (!"vector".equalsIgnoreCase(compression)) {
+            return new ScalarArgon2Compressor();
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            log.warn("Argon2 vector compression requested, but jdk.incubator.vector is not enabled; using scalar compression");
+            return new ScalarArgon2Compressor();
+        }
+        try {
+            Class<? extends Argon2Compressor> type = Class.forName(VECTOR_COMPRESSOR).asSubclass(Argon2Compressor.class);
+            if (!(boolean) type.getDeclaredMethod("isSupported").invoke(null)) {
+                log.warn("Argon2 vector compression requested, but the CPU has no 256-bit vectors; using scalar compression");
+                return new ScalarArgon2Compressor();
+            }
+            log.info("Argon2 uses vector compression");
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            log.warn("Argon2 vector compression requested, but {} could not be loaded; using scalar compression",
+                    VECTOR_COMPRESSOR, ex);
+            return new ScalarArgon2Compressor();
+        }
+    }
+
+    private static ExecutorService createLaneExecutor(final Argon2Properties argon2Properties) {
+        int laneThreads = argon2Properties.getHashingPoolSize() * (argon2Properties.getParallelism() - 1);
+        if (!argon2Properties.isParallelLanes() || laneThreads < 1) {
+            return null;
+        }
+        return Executors.newFixedThreadPool(laneThreads, new Argon2ThreadFactory("argon2-lane-"));
+    }
+
+    /**
+     * The memory geometry derived from the cost parameters.
+     */
+    private static final class Instance {
+        private final Argon2HashParameters parameters;
+        private final int segmentLength;
+        private final int laneLength;
+        private final int memoryBlocks;
+
+        private Instance(Argon2HashParameters parameters) {
+            this.parameters = parameters;
+            int blocks = Math.max(parameters.memory(), 2 * SYNC_POINTS * parameters.parallelism());
+            this.segmentLength = blocks / (parameters.parallelism() * SYNC_POINTS);
+            this.laneLength = segmentLength * SYNC_POINTS;
+            this.memoryBlocks = laneLength * parameters.parallelism();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package am.registration.system.demo.security.password;
+
+/**
+ * The cost parameters of a single Argon2 computation.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 14:05:12
+ */
+record Argon2HashParameters(Argon2Type type, int memory, int iterations, int parallelism, int hashLength) {
+
+    Argon2HashParameters {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Argon2 parallelism must be at least 1");
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Argon2 iterations must be at least 1");
+        }
+        if (hashLength < 4) {
+            throw new IllegalArgumentException("Argon2 hash length must be at least 4 bytes");
+        }
+        if (memory < 8 * parallelism) {
+            throw new IllegalArgumentException("Argon2 memory must be at least 8 KB per lane");
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package am.registration.system.demo.security.password;
 
 import am.registration.system.demo.exception.InvalidEncodedPasswordException;
+import am.registration.system.demo.exception.PasswordHashingUnavailableException;
 import lombok.RequiredArgsConstructor;
-import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
-import org.bouncycastle.crypto.params.Argon2Parameters;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Base64;
@@ -22,6 +22,17 @@ import java.util.Base64;
  * * Usage:
  * - Call {@code encode()} to generate a hashed password.
  * - Call {@code matches()} to verify the raw password against a stored hash.
+ * - Call {@code upgradeEncoding()} to check whether a stored hash should be rehashed after a successful login.
+ * *
+ * * Formats:
+ * - New hashes are Argon2id PHC strings, {@code $argon2id$v=19$m=...,t=...,p=...$salt$hash}. The configured
+ *   secret is applied as the Argon2 secret (pepper) and is not stored.
+ * - Legacy hashes, {@code salt:secret:hash} in Base64, are Argon2i with the legacy cost parameters and
+ *   the stored secret. They still verify, and are reported for upgrade.
+ * *
+ * <p>Both run on the {@link Argon2HashingExecutor} pool, which bounds how many hashes
+ * (and how much hashing memory, by the {@code m} of each hash) are in flight at once.
+ * The hashes are computed by the {@link Argon2Engine} into pooled block arenas.</p>
  * *
  * Author: Artyom Aroyan
  * Date: 15.02.25
@@ -31,71 +42,150 @@ import java.util.Base64;
 public class Argon2Hashing implements PasswordEncoder {
 
     private static final SecureRandom RANDOM = new SecureRandom();
+    private final Argon2Engine argon2Engine;
+    private final Argon2Calibrator argon2Calibrator;
     private final Argon2Properties argon2Properties;
+    private final Argon2HashingExecutor argon2HashingExecutor;
 
     /**
-     * Encodes the raw password using the Argon2 hashing algorithm.
+     * Encodes the raw password using the Argon2id hashing algorithm and the current cost parameters.
      *
      * @param rawPassword the raw password to encode
-     * @return the encoded password in a Base64 format: salt:secret:hashedPassword
+     * @return the encoded password as a PHC string
+     * @throws PasswordHashingUnavailableException if the hashing pool is saturated
      */
     @Override
     public String encode(CharSequence rawPassword) {
+        Argon2HashParameters parameters = currentParameters();
         byte[] salt = generateSalt();
-        byte[] secret = getSecret();
-        byte[] password = hashPassword(rawPassword.toString(), salt, secret);
-
-        Base64.Encoder encoder = Base64.getEncoder();
-        return String.join(":",
-                encoder.encodeToString(salt),
-                encoder.encodeToString(secret),
-                encoder.encodeToString(password));
+        byte[] hash = argon2HashingExecutor.execute(parameters.memory(), () -> hashPassword(parameters, rawPassword.toString(), salt, getSecret()));
+        return new Argon2PhcHash(parameters, salt, hash).format();
     }
 
     /**
-     * Verifies whether the raw password matches the encoded password.
+     * Verifies whether the raw password matches the encoded password, in either the PHC or the legacy format.
      *
      * @param rawPassword    the raw password to verify
      * @param encodedPassword the previously encoded password to match against
      * @return true if the raw password matches the encoded password, false otherwise
      * @throws InvalidEncodedPasswordException if the encoded password format is invalid
+     * @throws PasswordHashingUnavailableException if the hashing pool is saturated
      */
     @Override
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (Argon2PhcHash.isPhcString(encodedPassword)) {
+            Argon2PhcHash stored = Argon2PhcHash.parse(encodedPassword);
+            byte[] actual = argon2HashingExecutor.execute(stored.parameters().memory(), () ->
+                    hashPassword(stored.parameters(), rawPassword.toString(), stored.salt(), getSecret()));
+            return MessageDigest.isEqual(actual, stored.hash());
+        }
+
         String[] parts = encodedPassword.split(":");
         if (parts.length != 3) {
             throw new InvalidEncodedPasswordException("Encoded password format is invalid.");
         }
 
         Base64.Decoder decoder = Base64.getDecoder();
-        byte[] salt = decoder.decode(parts[0]);
-        byte[] secret = decoder.decode(parts[1]);
-        byte[] expected = decoder.decode(parts[2]);
-        byte[] actual = hashPassword(rawPassword.toString(), salt, secret);
-        return Arrays.equals(actual, expected);
+        byte[] salt;
+        byte[] secret;
+        byte[] expected;
+        Argon2HashParameters parameters;
+        try {
+            salt = decoder.decode(parts[0]);
+            secret = decoder.decode(parts[1]);
+            expected = decoder.decode(parts[2]);
+            parameters = legacyParameters(expected.length);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEncodedPasswordException("Encoded password format is invalid.");
+        }
+        byte[] actual = argon2HashingExecutor.execute(parameters.memory(), () -> hashPassword(parameters, rawPassword.toString(), salt, secret));
+        return MessageDigest.isEqual(actual, expected);
+    }
+
+    /**
+     * Checks whether the encoded password should be rehashed: legacy hashes always are,
+     * PHC hashes when their variant or cost parameters differ from the current ones.
+     * With calibration enabled, nodes of a mixed fleet choose different costs, so PHC hashes are
+     * only upgraded when they are weaker than the current parameters; otherwise every login on
+     * a differently sized node would rehash the password again.
+     *
+     * @param encodedPassword the stored password
+     * @return true if the password should be encoded again after a successful login
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || !Argon2PhcHash.isPhcString(encodedPassword)) {
+            return true;
+        }
+        Argon2HashParameters stored = Argon2PhcHash.parse(encodedPassword).parameters();
+        Argon2HashParameters current = currentParameters();
+        if (!argon2Properties.isCalibrate()) {
+            return !stored.equals(current);
+        }
+        return stored.type() != current.type()
+                || stored.hashLength() != current.hashLength()
+                || stored.memory() < current.memory()
+                || (stored.memory() == current.memory() && stored.iterations() < current.iterations());
     }
 
     /**
-     * Hashes the password using Argon2 with the specified salt and secret.
+     * Returns queue depth, wait time and hash latency of the hashing pool.
      *
-     * @param password the raw password to hash
-     * @param salt     the salt to use for hashing
-     * @param secret   the secret key to enhance security
+     * @return the hashing statistics
+     */
+    public PasswordHashingStatistics getHashingStatistics() {
+        return argon2HashingExecutor.getStatistics();
+    }
+
+    /**
+     * Returns the parameters new hashes are encoded with and how they were chosen.
+     *
+     * @return the calibration result
+     */
+    public Argon2CalibrationResult getCalibrationResult() {
+        return argon2Calibrator.getResult();
+    }
+
+    /**
+     * Hashes the password using Argon2 with the specified parameters, salt and secret.
+     *
+     * @param parameters the variant and cost parameters
+     * @param password   the raw password to hash
+     * @param salt       the salt to use for hashing
+     * @param secret     the secret key to enhance security
      * @return the hashed password as a byte array
      */
-    private byte[] hashPassword(String password, byte[] salt, byte[] secret) {
-        Argon2BytesGenerator generator = new Argon2BytesGenerator();
-        Argon2Parameters.Builder builder = new  Argon2Parameters.Builder()
-                .withSalt(salt)
-                .withSecret(secret)
-                .withParallelism(argon2Properties.getParallelism())
-                .withMemoryAsKB(argon2Properties.getMemory())
-                .withIterations(argon2Properties.getIterations());
-
-        generator.init(builder.build());
-        byte[] hash = new byte[argon2Properties.getHashLength()];
-        generator.generateBytes(password.toCharArray(), hash);
-        return hash;
+    private byte[] hashPassword(Argon2HashParameters parameters, String password, byte[] salt, byte[] secret) {
+        byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+        try {
+            return argon2Engine.hash(parameters, passwordBytes, salt, secret);
+        } finally {
+            Arrays.fill(passwordBytes, (byte) 0);
+        }
+    }
+
+    /**
+     * Returns the parameters new hashes are encoded with.
+     *
+     * @return the configured or calibrated Argon2id parameters
+     */
+    private Argon2HashParameters currentParameters() {
+        return argon2Calibrator.getCurrentParameters();
+    }
+
+    /**
+     * Returns the parameters legacy hashes were encoded with: Argon2i and the legacy costs,
+     * which the legacy format does not record.
+     *
+     * @param hashLength the length of the stored hash
+     * @return the legacy parameters
+     */
+    private Argon2HashParameters legacyParameters(int hashLength) {
+        return new Argon2HashParameters(Argon2Type.ARGON2_I,
+                argon2Properties.getLegacyMemory(),
+                argon2Properties.getLegacyIterations(),
+                argon2Properties.getLegacyParallelism(),
+                hashLength);
     }
 
     /**
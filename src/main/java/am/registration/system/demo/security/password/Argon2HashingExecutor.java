@@ -0,0 +1,217 @@
+package am.registration.system.demo.security.password;
+
+import am.registration.system.demo.exception.PasswordHashingUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs Argon2 computations on a dedicated thread pool instead of the request threads.
+ * <p>
+ * Every hash allocates {@code application.security.argon2.memory} kilobytes, so the pool size is
+ * derived from a memory budget: at most {@code memoryBudget / memory} hashes run at once, and never
+ * more than there are cores. Stored hashes are verified with the memory they were created with, which in a
+ * mixed fleet may be more than this node's, so each hash also reserves its own memory from the budget before
+ * it starts: a few large hashes then run fewer at a time instead of exceeding it, and a hash larger than the
+ * whole budget runs alone. Callers queue in a bounded queue and wait at most {@code queueTimeout}
+ * milliseconds for a thread and its memory; when the queue is full or the wait expires, a
+ * {@link PasswordHashingUnavailableException} is thrown instead of piling up more work. Once a hash
+ * has started, the caller waits at most another {@code queueTimeout} for its result.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 13:18:09
+ */
+@Slf4j
+@Component
+class Argon2HashingExecutor {
+
+    private final int poolSize;
+    private final int queueCapacity;
+    private final int memoryBudget;
+    private final long queueTimeoutNanos;
+    private final Semaphore memoryPermits;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    Argon2HashingExecutor(Argon2Properties properties) {
+        this.poolSize = properties.getHashingPoolSize();
+        this.queueCapacity = Math.max(1, properties.getQueueCapacity());
+        this.memoryBudget = Math.max(1, properties.getMemoryBudget());
+        this.memoryPermits = new Semaphore(memoryBudget, true);
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getQueueTimeout());
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new Argon2ThreadFactory("argon2-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+        log.info("Argon2 hashing pool started with {} threads ({} KB per hash, {} KB budget), queue capacity {}",
+                poolSize, properties.getMemory(), properties.getMemoryBudget(), queueCapacity);
+    }
+
+    /**
+     * Runs the hashing operation on the pool, once its memory is available, and waits for its result.
+     *
+     * @param memory    the memory the computation allocates, in kilobytes
+     * @param operation the Argon2 computation
+     * @param <T>       the result type
+     * @return the result of the operation
+     * @throws PasswordHashingUnavailableException if the queue is full or no thread became free in time
+     */
+    <T> T execute(final int memory, final Supplier<T> operation) {
+        HashingTask<T> task = new HashingTask<>(Math.min(Math.max(1, memory), memoryBudget), operation);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw unavailable();
+        }
+        return task.await();
+    }
+
+    /**
+     * Returns the current pool counters.
+     *
+     * @return the hashing statistics
+     */
+    PasswordHashingStatistics getStatistics() {
+        long count = completed.sum();
+        return new PasswordHashingStatistics(poolSize, executor.getActiveCount(), executor.getQueue().size(),
+                queueCapacity, count, rejected.sum(), timedOut.sum(),
+                averageMillis(totalWaitNanos.sum(), count), toMillis(maxWaitNanos.get()),
+                averageMillis(totalHashNanos.sum(), count), toMillis(maxHashNanos.get()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Builds the saturation error with an estimate of when the queued work will have drained.
+     */
+    private PasswordHashingUnavailableException unavailable() {
+        long count = completed.sum();
+        double averageHashNanos = count == 0 ? 0 : (double) totalHashNanos.sum() / count;
+        double drainNanos = (executor.getQueue().size() + poolSize) * averageHashNanos / poolSize;
+        long retryAfter = Math.max(1, (long) Math.ceil(drainNanos / TimeUnit.SECONDS.toNanos(1)));
+        return new PasswordHashingUnavailableException("Password hashing is temporarily saturated.", retryAfter);
+    }
+
+    private static double averageMillis(long totalNanos, long count) {
+        return count == 0 ? 0 : toMillis(totalNanos) / count;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * A queued hash. Whichever side claims it first decides its fate: a worker thread runs it,
+     * or the waiting caller abandons it after the queue timeout.
+     */
+    private final class HashingTask<T> implements Runnable {
+        private final int memory;
+        private final Supplier<T> operation;
+        private final long submittedAt = System.nanoTime();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private HashingTask(int memory, Supplier<T> operation) {
+            this.memory = memory;
+            this.operation = operation;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            long remainingNanos = queueTimeoutNanos - (System.nanoTime() - submittedAt);
+            try {
+                if (!memoryPermits.tryAcquire(memory, remainingNanos, TimeUnit.NANOSECONDS)) {
+                    timedOut.increment();
+                    result.completeExceptionally(unavailable());
+                    return;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(unavailable());
+                return;
+            }
+            long startedAt = System.nanoTime();
+            long waitNanos = startedAt - submittedAt;
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulate(waitNanos);
+            try {
+                result.complete(operation.get());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            } finally {
+                memoryPermits.release(memory);
+                long hashNanos = System.nanoTime() - startedAt;
+                totalHashNanos.add(hashNanos);
+                maxHashNanos.accumulate(hashNanos);
+                completed.increment();
+            }
+        }
+
+        private T await() {
+            try {
+                try {
+                    return result.get(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    if (claimed.compareAndSet(false, true)) {
+                        executor.remove(this);
+                        timedOut.increment();
+                        throw unavailable();
+                    }
+                    return awaitStarted();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                if (claimed.compareAndSet(false, true)) {
+                    executor.remove(this);
+                }
+                throw unavailable();
+            } catch (TimeoutException ex) {
+                timedOut.increment();
+                throw unavailable();
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(ex.getCause());
+            }
+        }
+
+        /**
+         * Waits for a task a worker has already claimed. The worker gives up on the memory by the end of
+         * the queue timeout, so what is left to wait for is at most the hash itself.
+         */
+        private T awaitStarted() throws InterruptedException, ExecutionException, TimeoutException {
+            return result.get(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package am.registration.system.demo.security.password;
+
+import am.registration.system.demo.exception.InvalidEncodedPasswordException;
+
+import java.util.Base64;
+
+/**
+ * An Argon2 hash in the PHC string format:
+ * {@code $argon2id$v=19$m=65536,t=3,p=2$<salt>$<hash>}, with salt and hash in unpadded Base64.
+ * <p>
+ * The string records the variant and cost parameters, so hashes written with older parameters
+ * still verify after the configuration changes. The pepper is applied as the Argon2 secret
+ * but never stored.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:20:44
+ */
+record Argon2PhcHash(Argon2HashParameters parameters, byte[] salt, byte[] hash) {
+
+    static final String PREFIX = "$argon2";
+    private static final int VERSION = 0x13;
+
+    /**
+     * Checks whether the encoded password is in the PHC format.
+     *
+     * @param encodedPassword the stored password
+     * @return true if it starts with {@code $argon2}
+     */
+    static boolean isPhcString(String encodedPassword) {
+        return encodedPassword.startsWith(PREFIX);
+    }
+
+    /**
+     * Parses a PHC string.
+     *
+     * @param encodedPassword the stored password
+     * @return the parameters, salt and hash
+     * @throws InvalidEncodedPasswordException if the string is malformed or uses an unsupported version
+     */
+    static Argon2PhcHash parse(String encodedPassword) {
+        // "", variant, version, parameters, salt, hash
+        String[] parts = encodedPassword.split("\\$");
+        if (parts.length != 6 || !parts[0].isEmpty() || !parts[2].equals("v=" + VERSION)) {
+            throw new InvalidEncodedPasswordException("Encoded password format is invalid.");
+        }
+        try {
+            Argon2Type type = Argon2Type.fromPhcName(parts[1]);
+            int memory = 0;
+            int iterations = 0;
+            int parallelism = 0;
+            for (String parameter : parts[3].split(",")) {
+                String[] pair = parameter.split("=", 2);
+                int value = Integer.parseInt(pair[1]);
+                switch (pair[0]) {
+                    case "m" -> memory = value;
+                    case "t" -> iterations = value;
+                    case "p" -> parallelism = value;
+                    default -> throw new IllegalArgumentException("Unknown Argon2 parameter: " + pair[0]);
+                }
+            }
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] salt = decoder.decode(parts[4]);
+            byte[] hash = decoder.decode(parts[5]);
+            return new Argon2PhcHash(new Argon2HashParameters(type, memory, iterations, parallelism, hash.length), salt, hash);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new InvalidEncodedPasswordException("Encoded password format is invalid.");
+        }
+    }
+
+    /**
+     * Formats this hash as a PHC string.
+     *
+     * @return the PHC string
+     */
+    String format() {
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return "$" + parameters.type().getPhcName()
+                + "$v=" + VERSION
+                + "$m=" + parameters.memory() + ",t=" + parameters.iterations() + ",p=" + parameters.parallelism()
+                + "$" + encoder.encodeToString(salt)
+                + "$" + encoder.encodeToString(hash);
+    }
+}
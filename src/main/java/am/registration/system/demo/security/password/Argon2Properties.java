@@ -9,7 +9,12 @@ import org.springframework.stereotype.Component;
  * *
  * <p>This class loads configuration values from the application properties file.
  * It provides settings for memory usage, iterations, parallelism, hash length,
- * salt length, and a secret key to enhance security.</p>
+ * salt length, and a secret key to enhance security, the cost parameters of legacy
+ * {@code salt:secret:hash} passwords (defaulting to the current ones), as well as the memory budget, queue capacity
+ * and queue timeout of the dedicated hashing pool, whether lanes are filled in parallel, and whether
+ * the compression function runs on the scalar or the Vector API implementation, and the startup
+ * calibration settings (p99 latency target in milliseconds, per-hash memory ceiling in kilobytes,
+ * number of samples per candidate).</p>
  * *
  * <p>The values are injected using Spring's {@code @Value} annotation and are
  * expected to be present in the application configuration file under the prefix
@@ -34,4 +39,52 @@ class Argon2Properties {
     private int saltLength;
     @Value("${application.security.argon2.secretKey}")
     private String secret;
+    @Value("${application.security.argon2.legacyMemory:${application.security.argon2.memory}}")
+    private int legacyMemory;
+    @Value("${application.security.argon2.legacyIterations:${application.security.argon2.iterations}}")
+    private int legacyIterations;
+    @Value("${application.security.argon2.legacyParallelism:${application.security.argon2.parallelism}}")
+    private int legacyParallelism;
+    @Value("${application.security.argon2.memoryBudget:524288}")
+    private int memoryBudget;
+    @Value("${application.security.argon2.queueCapacity:64}")
+    private int queueCapacity;
+    @Value("${application.security.argon2.queueTimeout:2000}")
+    private long queueTimeout;
+    @Value("${application.security.argon2.parallelLanes:true}")
+    private boolean parallelLanes;
+    @Value("${application.security.argon2.compression:scalar}")
+    private String compression;
+    @Value("${application.security.argon2.calibrate:false}")
+    private boolean calibrate;
+    @Value("${application.security.argon2.calibrationTargetLatency:500}")
+    private long calibrationTargetLatency;
+    @Value("${application.security.argon2.calibrationMemoryCeiling:262144}")
+    private int calibrationMemoryCeiling;
+    @Value("${application.security.argon2.calibrationSamples:20}")
+    private int calibrationSamples;
+
+    /**
+     * Returns the number of hashes that may run at once: as many as fit into the memory budget,
+     * but never more than there are cores.
+     *
+     * @return the hashing pool size
+     */
+    int getHashingPoolSize() {
+        int memoryBound = Math.max(1, memoryBudget / Math.max(1, memory));
+        return Math.min(Runtime.getRuntime().availableProcessors(), memoryBound);
+    }
+
+    /**
+     * Returns the most memory a hash created on this node uses: the configured memory, or with calibration
+     * the calibration ceiling, which keeps a fully busy pool within the memory budget.
+     *
+     * @return the memory ceiling of locally created hashes, in kilobytes
+     */
+    int getLocalMemoryCeiling() {
+        if (!calibrate) {
+            return memory;
+        }
+        return Math.min(calibrationMemoryCeiling, memoryBudget / getHashingPoolSize());
+    }
 }
\ No newline at end of file
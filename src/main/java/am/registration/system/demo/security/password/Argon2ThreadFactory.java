@@ -0,0 +1,28 @@
+package am.registration.system.demo.security.password;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named daemon threads for the Argon2 thread pools.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 15:31:18
+ */
+final class Argon2ThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    Argon2ThreadFactory(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
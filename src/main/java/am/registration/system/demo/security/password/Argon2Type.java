@@ -0,0 +1,47 @@
+package am.registration.system.demo.security.password;
+
+/**
+ * The Argon2 variants with their identifiers as defined by RFC 9106
+ * and their names in the PHC string format.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 14:02:37
+ */
+enum Argon2Type {
+    ARGON2_D(0, "argon2d"),
+    ARGON2_I(1, "argon2i"),
+    ARGON2_ID(2, "argon2id");
+
+    private final int id;
+    private final String phcName;
+
+    Argon2Type(int id, String phcName) {
+        this.id = id;
+        this.phcName = phcName;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    String getPhcName() {
+        return phcName;
+    }
+
+    /**
+     * Resolves a variant from its PHC name.
+     *
+     * @param phcName the name, e.g. {@code argon2id}
+     * @return the variant
+     * @throws IllegalArgumentException if the name is not an Argon2 variant
+     */
+    static Argon2Type fromPhcName(String phcName) {
+        for (Argon2Type type : values()) {
+            if (type.phcName.equals(phcName)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown Argon2 variant: " + phcName);
+    }
+}
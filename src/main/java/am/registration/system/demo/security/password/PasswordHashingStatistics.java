@@ -0,0 +1,23 @@
+package am.registration.system.demo.security.password;
+
+/**
+ * A point-in-time snapshot of the password hashing pool.
+ * Wait times are measured from submission until a hashing thread picks the task up;
+ * hash times cover the Argon2 computation itself. All times are in milliseconds.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 13:11:27
+ */
+public record PasswordHashingStatistics(int poolSize,
+                                        int activeCount,
+                                        int queueDepth,
+                                        int queueCapacity,
+                                        long completed,
+                                        long rejected,
+                                        long timedOut,
+                                        double averageWaitMillis,
+                                        double maxWaitMillis,
+                                        double averageHashMillis,
+                                        double maxHashMillis) {
+}
@@ -0,0 +1,81 @@
+package am.registration.system.demo.security.password;
+
+/**
+ * The portable Argon2 compression function, one 64-bit word at a time.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 16:04:52
+ */
+final class ScalarArgon2Compressor implements Argon2Compressor {
+
+    @Override
+    public void compress(final long[] x, final int xOffset, final long[] y, final int yOffset,
+                         final long[] out, final int outOffset, final boolean withXor,
+                         final long[] scratchR, final long[] scratchQ) {
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            scratchR[i] = x[xOffset + i] ^ y[yOffset + i];
+        }
+        System.arraycopy(scratchR, 0, scratchQ, 0, BLOCK_WORDS);
+        if (withXor) {
+            for (int i = 0; i < BLOCK_WORDS; i++) {
+                scratchR[i] ^= out[outOffset + i];
+            }
+        }
+
+        for (int i = 0; i < 8; i++) {
+            int row = 16 * i;
+            round(scratchQ, row, row + 1, row + 2, row + 3, row + 4, row + 5, row + 6, row + 7,
+                    row + 8, row + 9, row + 10, row + 11, row + 12, row + 13, row + 14, row + 15);
+        }
+        for (int i = 0; i < 8; i++) {
+            int column = 2 * i;
+            round(scratchQ, column, column + 1, column + 16, column + 17, column + 32, column + 33, column + 48, column + 49,
+                    column + 64, column + 65, column + 80, column + 81, column + 96, column + 97, column + 112, column + 113);
+        }
+
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            out[outOffset + i] = scratchQ[i] ^ scratchR[i];
+        }
+    }
+
+    /**
+     * One BLAKE2b round over sixteen words using the BlaMka multiplication.
+     */
+    private static void round(final long[] v, final int v0, final int v1, final int v2, final int v3,
+                              final int v4, final int v5, final int v6, final int v7,
+                              final int v8, final int v9, final int v10, final int v11,
+                              final int v12, final int v13, final int v14, final int v15) {
+        mix(v, v0, v4, v8, v12);
+        mix(v, v1, v5, v9, v13);
+        mix(v, v2, v6, v10, v14);
+        mix(v, v3, v7, v11, v15);
+        mix(v, v0, v5, v10, v15);
+        mix(v, v1, v6, v11, v12);
+        mix(v, v2, v7, v8, v13);
+        mix(v, v3, v4, v9, v14);
+    }
+
+    private static void mix(final long[] v, final int a, final int b, final int c, final int d) {
+        long va = v[a];
+        long vb = v[b];
+        long vc = v[c];
+        long vd = v[d];
+        va = blaMka(va, vb);
+        vd = Long.rotateRight(vd ^ va, 32);
+        vc = blaMka(vc, vd);
+        vb = Long.rotateRight(vb ^ vc, 24);
+        va = blaMka(va, vb);
+        vd = Long.rotateRight(vd ^ va, 16);
+        vc = blaMka(vc, vd);
+        vb = Long.rotateRight(vb ^ vc, 63);
+        v[a] = va;
+        v[b] = vb;
+        v[c] = vc;
+        v[d] = vd;
+    }
+
+    private static long blaMka(final long x, final long y) {
+        return x + y + 2 * (x & 0xFFFFFFFFL) * (y & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,109 @@
+package am.registration.system.demo.security.rbac;
+
+import am.registration.system.demo.model.entity.Permission;
+import am.registration.system.demo.model.entity.Role;
+import am.registration.system.demo.model.enums.Permissions;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * Encodes sets of {@link Permissions} as {@code long} bitmasks, one bit per constant by ordinal.
+ * A mask fits all permissions as long as the enum has at most 64 constants, and is what the RBAC
+ * snapshot stores per role and what the JWT carries as its permission claim.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 14:02:19
+ */
+public final class PermissionMask {
+
+    public static final long NONE = 0L;
+
+    static {
+        if (Permissions.values().length > Long.SIZE) {
+            throw new IllegalStateException("Permission masks hold at most " + Long.SIZE + " permissions");
+        }
+    }
+
+    private PermissionMask() {
+    }
+
+    /**
+     * Returns the mask with only the bit of the given permission set.
+     *
+     * @param permission the permission
+     * @return the single-bit mask
+     */
+    public static long of(Permissions permission) {
+        return 1L << permission.ordinal();
+    }
+
+    /**
+     * Returns the mask with the bits of all given permissions set.
+     *
+     * @param permissions the permissions, may be empty
+     * @return the combined mask
+     */
+    public static long of(Collection<Permissions> permissions) {
+        long mask = NONE;
+        for (Permissions permission : permissions) {
+            mask |= of(permission);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the mask of the permissions of a role entity, whose permissions must be loaded.
+     *
+     * @param role the role
+     * @return the mask of the role's permissions
+     */
+    public static long ofRole(Role role) {
+        long mask = NONE;
+        if (role.getPermissions() != null) {
+            for (Permission permission : role.getPermissions()) {
+                mask |= of(permission.getPermissions());
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Checks whether the mask grants the permission.
+     *
+     * @param mask       the permission mask
+     * @param permission the permission to check
+     * @return true if the bit of the permission is set
+     */
+    public static boolean contains(long mask, Permissions permission) {
+        return (mask & of(permission)) != 0;
+    }
+
+    /**
+     * Checks whether the mask grants every permission of the required mask.
+     *
+     * @param mask     the permission mask
+     * @param required the mask of the required permissions
+     * @return true if all required bits are set
+     */
+    public static boolean containsAll(long mask, long required) {
+        return (mask & required) == required;
+    }
+
+    /**
+     * Decodes the mask back into the permissions it grants.
+     *
+     * @param mask the permission mask
+     * @return the granted permissions
+     */
+    public static EnumSet<Permissions> toPermissions(long mask) {
+        EnumSet<Permissions> permissions = EnumSet.noneOf(Permissions.class);
+        for (Permissions permission : Permissions.values()) {
+            if (contains(mask, permission)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+}
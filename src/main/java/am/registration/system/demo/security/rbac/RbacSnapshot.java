@@ -0,0 +1,81 @@
+package am.registration.system.demo.security.rbac;
+
+import am.registration.system.demo.model.enums.Roles;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable view of the role to permission mapping, with the permissions of each role held as a
+ * {@link PermissionMask}. Masks are looked up both by role and by the granted authority name of the
+ * role ({@code ROLE_<NAME>}), so permission checks on a principal need neither Hibernate nor string parsing.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 14:09:51
+ */
+public final class RbacSnapshot {
+
+    static final String ROLE_PREFIX = "ROLE_";
+
+    private final Map<Roles, Long> roleMasks;
+    private final Map<String, Long> authorityMasks;
+    private final long loadedAt;
+
+    RbacSnapshot(Map<Roles, Long> roleMasks, long loadedAt) {
+        Map<Roles, Long> masks = new EnumMap<>(Roles.class);
+        masks.putAll(roleMasks);
+        Map<String, Long> byAuthority = new HashMap<>();
+        masks.forEach((role, mask) -> byAuthority.put(ROLE_PREFIX + role.name(), mask));
+        this.roleMasks = Collections.unmodifiableMap(masks);
+        this.authorityMasks = Map.copyOf(byAuthority);
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Returns the permission mask of the role.
+     *
+     * @param role the role
+     * @return the mask of the role's permissions, or {@link PermissionMask#NONE} for an unknown role
+     */
+    public long getPermissionMask(Roles role) {
+        return roleMasks.getOrDefault(role, PermissionMask.NONE);
+    }
+
+    /**
+     * Returns the effective permission mask of a set of granted authorities: the union of the masks
+     * of the roles among them. Authorities that are not roles are ignored.
+     *
+     * @param authorities the granted authorities of a principal
+     * @return the effective permission mask
+     */
+    public long getPermissionMask(Collection<? extends GrantedAuthority> authorities) {
+        long mask = PermissionMask.NONE;
+        for (GrantedAuthority authority : authorities) {
+            mask |= authorityMasks.getOrDefault(authority.getAuthority(), PermissionMask.NONE);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the permission masks of all roles.
+     *
+     * @return an unmodifiable map of role to permission mask
+     */
+    public Map<Roles, Long> getRoleMasks() {
+        return roleMasks;
+    }
+
+    /**
+     * Returns when this snapshot was loaded.
+     *
+     * @return the load time in epoch milliseconds
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+}
@@ -0,0 +1,79 @@
+package am.registration.system.demo.security.rbac;
+
+import am.registration.system.demo.model.entity.Role;
+import am.registration.system.demo.model.enums.Roles;
+import am.registration.system.demo.model.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link RbacSnapshot} and resolves the permission masks of principals from it.
+ * <p>
+ * The role to permission mapping is read once, after the {@code DataInitializer} has stored it,
+ * in a single query. Checks afterward are bitmask lookups that never touch Hibernate. When roles
+ * change, {@link #reload()} builds a new snapshot and swaps it in atomically, so concurrent
+ * checks see either the old or the new mapping, never a mix.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 14:21:36
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@DependsOn("dataInitializer")
+public class RbacSnapshotService {
+
+    private final RoleRepository roleRepository;
+    private final AtomicReference<RbacSnapshot> snapshot = new AtomicReference<>();
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    /**
+     * Loads the role to permission mapping and replaces the current snapshot with it.
+     *
+     * @return the new snapshot
+     */
+    public RbacSnapshot reload() {
+        Map<Roles, Long> roleMasks = new EnumMap<>(Roles.class);
+        for (Role role : roleRepository.findAllWithPermissionsBy()) {
+            roleMasks.put(role.getRoles(), PermissionMask.ofRole(role));
+        }
+        RbacSnapshot loaded = new RbacSnapshot(roleMasks, System.currentTimeMillis());
+        snapshot.set(loaded);
+        log.info("Loaded RBAC snapshot with {} roles", roleMasks.size());
+        return loaded;
+    }
+
+    /**
+     * Returns the current snapshot.
+     *
+     * @return the snapshot in use
+     */
+    public RbacSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Returns the effective permission mask of a principal's granted authorities.
+     *
+     * @param authorities the granted authorities
+     * @return the union of the permission masks of the principal's roles
+     */
+    public long getPermissionMask(Collection<? extends GrantedAuthority> authorities) {
+        return snapshot.get().getPermissionMask(authorities);
+    }
+}
@@ -0,0 +1,54 @@
+package am.registration.system.demo.security.token.claims;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Interns immutable authority and role sets read from verified JWT claims.
+ * <p>
+ * Only a handful of distinct role combinations exist, so every principal rebuilt from a token
+ * shares the same immutable set instance instead of allocating new authority objects per request.
+ * The claims are signature-verified before they reach this class, which keeps the number of
+ * distinct keys bounded by the real role combinations.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 10:12:37
+ */
+@Component
+class GrantedAuthorityInterner {
+
+    private final Map<Set<String>, Set<GrantedAuthority>> authorities = new ConcurrentHashMap<>();
+    private final Map<Set<String>, Set<String>> names = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared immutable authority set for the given authority names.
+     *
+     * @param authorityNames the authority names, e.g. {@code ROLE_USER}
+     * @return an immutable set of granted authorities
+     */
+    Set<GrantedAuthority> internAuthorities(Collection<String> authorityNames) {
+        return authorities.computeIfAbsent(Set.copyOf(authorityNames), key -> key.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    /**
+     * Returns the shared immutable set for the given names.
+     *
+     * @param values the names to intern
+     * @return an immutable set of names
+     */
+    Set<String> internNames(Collection<String> values) {
+        Set<String> key = Set.copyOf(values);
+        return names.computeIfAbsent(key, k -> k);
+    }
+}
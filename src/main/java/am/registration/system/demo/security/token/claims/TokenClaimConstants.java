@@ -13,6 +13,7 @@ class TokenClaimConstants {
     public static final String USER_STATE = "userState";
     public static final String USER_ROLES = "userRoles";
     public static final String AUTHORITIES = "authorities";
+    public static final String PERMISSIONS = "permissions";
     public static final String TOKEN_PURPOSE = "tokenPurpose";
     public static final String TOKEN_STATE = "tokenState";
 }
\ No newline at end of file
@@ -16,5 +16,6 @@ import java.util.Set;
  */
 @Builder
 public record TokenClaimsDto(Integer userId, String username, String userEmail, String tokenState, String tokenPurpose,
-                      Set<String> roles, Collection<? extends GrantedAuthority> authorities, UserState userState) {
+                      Set<String> roles, Collection<? extends GrantedAuthority> authorities, UserState userState,
+                      Long permissionMask) {
 }
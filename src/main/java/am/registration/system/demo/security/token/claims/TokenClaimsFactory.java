@@ -35,15 +35,21 @@ public class TokenClaimsFactory {
 
     /**
      * Generates JWT claims based on the authenticated user's principal.
+     * Roles and authorities are included so the principal can be rebuilt from the token alone,
+     * and the permission mask so permissions can be checked from it.
      * @param user the authenticated user's principal
+     * @param permissionMask the effective permission mask of the user's roles
      * @return the generated TokenClaimsDto
      */
-    public TokenClaimsDto createJwtTokenClaims(UserPrincipal user) {
+    public TokenClaimsDto createJwtTokenClaims(UserPrincipal user, long permissionMask) {
         return TokenClaimsDto.builder()
                 .userId(user.getId())
                 .username(user.getUsername())
                 .userEmail(user.getEmail())
                 .userState(user.getUserState())
+                .roles(user.getRoles())
+                .authorities(user.getAuthorities())
+                .permissionMask(permissionMask)
                 .tokenState(TokenState.PENDING.name())
                 .build();
     }
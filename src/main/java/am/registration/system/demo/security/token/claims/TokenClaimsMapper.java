@@ -1,23 +1,33 @@
 package am.registration.system.demo.security.token.claims;
 
+import am.registration.system.demo.model.enums.UserState;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
 /**
  * Mapper for converting TokenClaimsDto objects to Map representations.
- * Provides methods to map both user-specific claims and JWT-specific claims.
+ * Provides methods to map both user-specific claims and JWT-specific claims,
+ * and to read verified JWT claims back into a TokenClaimsDto.
  * *
  * Author: Artyom Aroyan
  * Date: 18.02.25
  * Time: 17:05:19
  */
 @Component
+@RequiredArgsConstructor
 public class TokenClaimsMapper {
 
+    private final GrantedAuthorityInterner grantedAuthorityInterner;
+
     /**
      * Maps user token claims to a Map representation.
      * @param claims the TokenClaimsDto containing user claims
@@ -35,6 +45,8 @@ public class TokenClaimsMapper {
 
     /**
      * Maps JWT claims to a Map representation.
+     * Authorities are written as plain names so they can be read back without a custom deserializer;
+     * the effective permissions are written as a single numeric bitmask.
      * @param claims the TokenClaimsDto containing JWT claims
      * @return a Map of JWT claim keys and their corresponding values
      */
@@ -43,11 +55,36 @@ public class TokenClaimsMapper {
                 TokenClaimConstants.USER_ID, TokenClaimsDto::userId,
                 TokenClaimConstants.USERNAME, TokenClaimsDto::username,
                 TokenClaimConstants.USER_ROLES, TokenClaimsDto::roles,
-                TokenClaimConstants.AUTHORITIES, TokenClaimsDto::authorities,
-                TokenClaimConstants.USER_STATE, TokenClaimsDto::userState
+                TokenClaimConstants.AUTHORITIES, dto -> mapAuthorityNames(dto.authorities()),
+                TokenClaimConstants.USER_STATE, TokenClaimsDto::userState,
+                TokenClaimConstants.PERMISSIONS, TokenClaimsDto::permissionMask
         ));
     }
 
+    /**
+     * Maps verified JWT claims back to a TokenClaimsDto.
+     * Role and authority sets are interned, so principals built from the same role combination share them.
+     * The permission mask is null for tokens issued before it was added.
+     * @param claims the verified claims of a JWT
+     * @return the TokenClaimsDto carrying the user ID, username, roles, authorities and state
+     */
+    public TokenClaimsDto mapFromJwtClaims(Claims claims) {
+        var username = Optional.ofNullable(claims.get(TokenClaimConstants.USERNAME, String.class))
+                .orElse(claims.getSubject());
+        var userState = Optional.ofNullable(claims.get(TokenClaimConstants.USER_STATE, String.class))
+                .map(UserState::valueOf)
+                .orElse(null);
+
+        return TokenClaimsDto.builder()
+                .userId(claims.get(TokenClaimConstants.USER_ID, Integer.class))
+                .username(username)
+                .roles(grantedAuthorityInterner.internNames(readNames(claims, TokenClaimConstants.USER_ROLES)))
+                .authorities(grantedAuthorityInterner.internAuthorities(readNames(claims, TokenClaimConstants.AUTHORITIES)))
+                .userState(userState)
+                .permissionMask(claims.get(TokenClaimConstants.PERMISSIONS, Long.class))
+                .build();
+    }
+
     /**
      * Converts claims to a Map using the specified extractor functions.
      * @param claims the claims object to convert
@@ -62,4 +99,33 @@ public class TokenClaimsMapper {
                         .ifPresent(value -> claimsMap.put(key, value)));
         return claimsMap;
     }
-}
\ No newline at end of file
+
+    /**
+     * Converts granted authorities to their names.
+     * @param authorities the authorities to convert, may be null
+     * @return the authority names, or null if no authorities were given
+     */
+    private List<String> mapAuthorityNames(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null) {
+            return null;
+        }
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+    }
+
+    /**
+     * Reads a claim holding a collection of names.
+     * @param claims the verified claims
+     * @param key the claim key
+     * @return the names in the claim, or an empty list if the claim is absent
+     */
+    private List<String> readNames(Claims claims, String key) {
+        if (claims.get(key) instanceof Collection<?> values) {
+            return values.stream()
+                    .map(String::valueOf)
+                    .toList();
+        }
+        return List.of();
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * * Properties include:
  * - A key path, password, and alias for loading JWT signing keys.
  * - Expiration time for JWT tokens.
+ * - Whether the authenticated principal is rebuilt from the verified token claims instead of the database.
+ * - The maximum number of verified tokens kept in memory (0 disables the cache).
  * *
  * * Usage:
  * The properties are injected automatically into beans using the @EnableConfigurationProperties(JwtTokenProperties.class) annotation.
@@ -27,4 +29,6 @@ public class JwtTokenProperties {
     private String keystorePassword;
     private String keystoreAlias;
     private Long expiration;
+    private boolean statelessPrincipal;
+    private int verifiedTokenCacheSize = 10_000;
 }
\ No newline at end of file
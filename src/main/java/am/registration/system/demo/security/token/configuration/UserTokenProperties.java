@@ -1,5 +1,6 @@
 package am.registration.system.demo.security.token.configuration;
 
+import am.registration.system.demo.security.token.enums.TokenFormat;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +32,12 @@ public class UserTokenProperties {
     private String emailVerificationTokenSecret;
     @Value("${application.security.emailVerificationToken.expiration}")
     private Long emailVerificationTokenExpiration;
+    @Value("${application.security.userToken.format:OPAQUE}")
+    private TokenFormat tokenFormat;
+
+    public TokenFormat getTokenFormat() {
+        return tokenFormat;
+    }
 
     public Long getPasswordResetTokenExpirationInMillis() {
         return passwordResetTokenExpiration * 60 * 1000;
@@ -0,0 +1,17 @@
+package am.registration.system.demo.security.token.enums;
+
+/**
+ * The format of the email verification and password reset tokens sent to users.
+ * <p>
+ * {@code OPAQUE} tokens are 32 random bytes, URL-safe Base64 encoded; {@code JWT} tokens are signed JWTs
+ * carrying the user claims. Either way only the SHA-256 digest of the token is stored.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 19:12:05
+ */
+public enum TokenFormat {
+    OPAQUE,
+    JWT
+}
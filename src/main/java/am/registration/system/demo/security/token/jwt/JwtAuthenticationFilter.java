@@ -1,5 +1,6 @@
 package am.registration.system.demo.security.token.jwt;
 
+import am.registration.system.demo.security.token.configuration.JwtTokenProperties;
 import am.registration.system.demo.security.token.validation.JwtTokenValidator;
 import am.registration.system.demo.service.user.CustomUserDetails;
 import jakarta.servlet.FilterChain;
@@ -24,9 +25,15 @@ import java.io.IOException;
  * This filter is triggered for every incoming request and checks the "Authorization" header
  * for a Bearer token. If a valid token is found, it sets the authentication context.
  * *
+ * * Principal resolution:
+ * - Default: the user is loaded from the database by the username embedded in the token.
+ * - Stateless (application.security.jwt.statelessPrincipal): the principal is rebuilt from the
+ *   verified token claims, so authenticating a request costs no database round trip.
+ * *
  * * Dependencies:
- * - JwtTokenValidator: Validates the JWT token and extracts the username.
+ * - JwtTokenValidator: Verifies the JWT token once and caches the claims and principal.
  * - CustomUserDetails: Loads user details by username.
+ * - JwtTokenProperties: Selects the principal resolution mode.
  * - HandlerExceptionResolver: Handles exceptions that occur during filtering.
  * *
  * Author: Artyom Aroyan
@@ -39,6 +46,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenValidator jwtTokenValidator;
     private final CustomUserDetails customUserDetails;
+    private final JwtTokenProperties jwtTokenProperties;
     private final HandlerExceptionResolver handlerExceptionResolver;
 
     /**
@@ -63,13 +71,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         try {
             final String token = authorizationHeader.substring(7);
-            final String username = jwtTokenValidator.extractUsername(token);
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            if (username != null && authentication == null) {
-                UserDetails userDetails = customUserDetails.loadUserByUsername(username);
+            if (authentication == null) {
+                UserDetails userDetails = jwtTokenProperties.isStatelessPrincipal()
+                        ? resolvePrincipalFromClaims(token)
+                        : resolvePrincipalFromDatabase(token);
 
-                if (jwtTokenValidator.validateToken(token, userDetails.getUsername())) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -81,4 +90,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             handlerExceptionResolver.resolveException(request, response, null, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the principal rebuilt from the verified token claims.
+     * Repeat callers get the principal cached with the token, without a signature check.
+     *
+     * @param token the bearer token
+     * @return the principal, or null if the token carries no username
+     */
+    private UserDetails resolvePrincipalFromClaims(final String token) {
+        var verifiedToken = jwtTokenValidator.verify(token);
+        return verifiedToken.claims().username() != null ? verifiedToken.principal() : null;
+    }
+
+    /**
+     * Loads the principal from the database by the username embedded in the token.
+     *
+     * @param token the bearer token
+     * @return the principal, or null if the token is not valid for the loaded user
+     */
+    private UserDetails resolvePrincipalFromDatabase(final String token) {
+        final String username = jwtTokenValidator.extractUsername(token);
+        if (username == null) {
+            return null;
+        }
+        UserDetails userDetails = customUserDetails.loadUserByUsername(username);
+        return jwtTokenValidator.validateToken(token, userDetails.getUsername()) ? userDetails : null;
+    }
+}
@@ -68,6 +68,20 @@ public class SigningKeyManager {
         return strategy.getSigningKey();
     }
 
+    /**
+     * Retrieves the key used to verify tokens of the specified type.
+     * <p>
+     * JWTs are signed with the private EC key and verified with its public key;
+     * HMAC-signed tokens are verified with the same key they are signed with.
+     * </p>
+     *
+     * @param type the token type
+     * @return the verification key associated with the specified token type
+     */
+    public Key retrieveVerificationKey(TokenType type) {
+        return type == TokenType.JSON_WEB_TOKEN ? jwtKeyProvider.getPublicKey() : retrieveSigningKey(type);
+    }
+
     /**
      * Determines the token type supported by the given strategy.
      * <p>
@@ -1,5 +1,6 @@
 package am.registration.system.demo.security.token.service;
 
+import am.registration.system.demo.security.rbac.RbacSnapshotService;
 import am.registration.system.demo.security.token.claims.TokenClaimsFactory;
 import am.registration.system.demo.security.token.claims.TokenClaimsMapper;
 import am.registration.system.demo.security.token.enums.TokenType;
@@ -11,7 +12,8 @@ import org.springframework.stereotype.Service;
  * Service class responsible for creating JWT tokens.
  * *
  * This service leverages the TokenGenerator, TokenClaimsMapper, and
- * TokenClaimsFactory to generate a JWT token containing user-related claims.
+ * TokenClaimsFactory to generate a JWT token containing user-related claims,
+ * and the RbacSnapshotService to embed the user's effective permission mask.
  * *
  * Author: Artyom Aroyan
  * Date: 18.02.25
@@ -23,6 +25,7 @@ public class JwtTokenService {
     private final TokenGenerator tokenGenerator;
     private final TokenClaimsMapper tokenClaimsMapper;
     private final TokenClaimsFactory tokenClaimsFactory;
+    private final RbacSnapshotService rbacSnapshotService;
 
     /**
      * Creates a JWT token for the given user.
@@ -31,7 +34,8 @@ public class JwtTokenService {
      * @return the generated JWT token as a String
      */
     public String createJwtToken(UserPrincipal user) {
-        var claimsDto = tokenClaimsFactory.createJwtTokenClaims(user);
+        var permissionMask = rbacSnapshotService.getPermissionMask(user.getAuthorities());
+        var claimsDto = tokenClaimsFactory.createJwtTokenClaims(user, permissionMask);
         var claims = tokenClaimsMapper.mapJwtClaims(claimsDto);
         return tokenGenerator.createToken(claims, user.getUsername(), TokenType.JSON_WEB_TOKEN);
     }
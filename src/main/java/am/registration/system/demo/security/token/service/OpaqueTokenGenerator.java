@@ -0,0 +1,56 @@
+package am.registration.system.demo.security.token.service;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Generates opaque email verification and password reset tokens, and the digests they are stored by.
+ * <p>
+ * A token is 32 bytes from {@link SecureRandom}, encoded as 43 URL-safe Base64 characters without padding,
+ * so it can be put in a link as is. Guessing one is as hard as finding a 256-bit key, so a token that
+ * matches a stored digest needs no signature: its row alone tells whom it belongs to, what it is for
+ * and until when it is valid.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 19:14:37
+ */
+@Component
+public class OpaqueTokenGenerator {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Generates a new random token.
+     *
+     * @return the URL-safe token
+     */
+    public String generate() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * Computes the digest a token is stored and looked up by.
+     *
+     * @param token the token, opaque or JWT
+     * @return the 32-byte SHA-256 digest of the token
+     */
+    public static byte[] digest(final String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
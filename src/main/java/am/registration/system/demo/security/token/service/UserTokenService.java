@@ -7,6 +7,8 @@ import am.registration.system.demo.model.entity.UserToken;
 import am.registration.system.demo.model.repository.UserTokenRepository;
 import am.registration.system.demo.security.token.claims.TokenClaimsFactory;
 import am.registration.system.demo.security.token.claims.TokenClaimsMapper;
+import am.registration.system.demo.security.token.configuration.UserTokenProperties;
+import am.registration.system.demo.security.token.enums.TokenFormat;
 import am.registration.system.demo.security.token.enums.TokenPurpose;
 import am.registration.system.demo.security.token.enums.TokenState;
 import am.registration.system.demo.security.token.enums.TokenType;
@@ -25,6 +27,10 @@ import java.util.Date;
  * This service is responsible for creating, saving, and invalidating user tokens,
  * as well as handling the generation and expiration of token data.
  * </p>
+ * <p>
+ * Tokens are opaque random values unless {@code application.security.userToken.format} is {@code JWT}.
+ * Only their SHA-256 digest is stored; the token itself is returned on the created entity, to be sent by email.
+ * </p>
  *
  * Author: Artyom Aroyan
  * Date: 18.02.25
@@ -39,6 +45,8 @@ public class UserTokenService {
     private final TokenClaimsMapper tokenClaimsMapper;
     private final SigningKeyManager signingKeyManager;
     private final TokenClaimsFactory tokenClaimsFactory;
+    private final UserTokenProperties userTokenProperties;
+    private final OpaqueTokenGenerator opaqueTokenGenerator;
     private final UserTokenRepository userTokenRepository;
     private final UserManagementService userManagementService;
 
@@ -78,7 +86,7 @@ public class UserTokenService {
      * @param email   the email address associated with the token
      * @param purpose the purpose of the token (e.g., password recovery or email verification)
      * @param type    the type of the token (e.g., PASSWORD_RESET or EMAIL_VERIFICATION)
-     * @return the created {@link UserToken} entity
+     * @return the created {@link UserToken} entity, carrying the token to send
      */
     private UserToken generateToken(final String email, final TokenPurpose purpose, final TokenType type) {
         var user = fetchUserByEmail(email);
@@ -86,15 +94,32 @@ public class UserTokenService {
         var expiration = new Date(issuedAt.getTime() + signingKeyManager.retrieveTokenExpiration(type));
 
         log.info(LogMessages.GENERATE_NEW_TOKEN, email);
-        var token = createUserToken(user.getId(), purpose, type);
+        var jwt = userTokenProperties.getTokenFormat() == TokenFormat.JWT;
+        var token = jwt ? createUserToken(user.getId(), purpose, type) : opaqueTokenGenerator.generate();
+        var digest = OpaqueTokenGenerator.digest(token);
+
+        // Identical JWTs are issued for the same user and purpose within one second; the partitioned
+        // table cannot enforce a unique digest, so the pending one is handed out again instead
+        if (jwt) {
+            var existing = userTokenRepository.findFirstByTokenDigestOrderByIdDesc(digest);
+            if (existing.isPresent()) {
+                if (existing.get().getTokenState() != TokenState.PENDING) {
+                    throw new IllegalStateException("An identical token was already issued and used");
+                }
+                existing.get().setToken(token);
+                return existing.get();
+            }
+        }
 
         UserToken userToken = new UserToken();
-        userToken.setToken(token);
+        userToken.setTokenDigest(digest);
         userToken.setExpireDate(expiration);
         userToken.setTokenPurpose(purpose);
         userToken.setTokenState(TokenState.PENDING);
         userToken.setUser(user);
-        return userTokenRepository.save(userToken);
+        var saved = userTokenRepository.save(userToken);
+        saved.setToken(token);
+        return saved;
     }
 
     /**
@@ -0,0 +1,20 @@
+package am.registration.system.demo.security.token.sweeper;
+
+/**
+ * A snapshot of the user token partition maintenance on this node. {@code healthy} is false when the last run
+ * failed, with {@code lastError} telling why; {@code lastMovedFromDefault} counts the tokens the last run found
+ * in the default partition, because their week's partition was missing, and moved to newly created partitions.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 21:14:38
+ */
+public record TokenPartitionStatistics(boolean healthy,
+                                       long runs,
+                                       long failedRuns,
+                                       String lastError,
+                                       int lastCreated,
+                                       int lastDropped,
+                                       long lastMovedFromDefault,
+                                       int partitions) {
+}
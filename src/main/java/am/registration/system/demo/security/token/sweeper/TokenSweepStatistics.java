@@ -0,0 +1,18 @@
+package am.registration.system.demo.security.token.sweeper;
+
+/**
+ * A snapshot of the user token sweeper after its last run on this node. {@code skippedRuns} counts the runs
+ * that found another node sweeping. {@code rowsPerSecond} is the expiration rate of the last run, and the backlog
+ * is the number of tokens still due for expiration when it finished.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 19:51:06
+ */
+public record TokenSweepStatistics(long runs,
+                                   long skippedRuns,
+                                   long lastExpired,
+                                   long lastElapsedMillis,
+                                   double lastRowsPerSecond,
+                                   long expiredBacklog) {
+}
@@ -0,0 +1,178 @@
+package am.registration.system.demo.security.token.sweeper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains the weekly partitions of {@code user_token}, which is range partitioned by {@code expire_date}.
+ * <p>
+ * Every run creates the partitions of the current week and of the next {@code weeksAhead} weeks, so a new
+ * token always lands in its week's partition rather than in the default one, and drops the partitions whose
+ * last expiration date is more than {@code retentionDays} days ago. Dropping a partition removes a week of
+ * tokens at once, whatever their number, leaving neither dead tuples to vacuum nor index entries behind.
+ * Week boundaries and the retention cutoff are computed by the database, in the time zone its timestamps are in.
+ * </p>
+ * <p>
+ * If runs were missed for longer than {@code weeksAhead} weeks, tokens land in the default partition, and a
+ * partition for their week can no longer be created next to it. A run that finds tokens there detaches the
+ * default partition, creates the missing weeks, moves the tokens into them and attaches it again, empty.
+ * A failed run is reported by {@link #getStatistics()}, and retried on the next schedule.
+ * </p>
+ * <p>
+ * A run takes a transaction-level advisory lock, so nodes starting or running it together do not race on the
+ * same partitions, and a short lock timeout, so it gives up rather than queue behind long queries on the table.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 20:36:12
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserTokenPartitionManager {
+
+    private static final String PARTITION_PREFIX = "user_token_p";
+    private static final DateTimeFormatter PARTITION_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String TRY_LOCK = "select pg_try_advisory_xact_lock(hashtext('registration_db.user_token_partitions'))";
+    private static final String LOCK_TIMEOUT = "set local lock_timeout = '5s'";
+    private static final String COUNT_DEFAULT = "select count(*) from registration_db.user_token_default";
+    private static final String DETACH_DEFAULT = "alter table registration_db.user_token detach partition registration_db.user_token_default";
+    private static final String ATTACH_DEFAULT = "alter table registration_db.user_token attach partition registration_db.user_token_default default";
+    private static final String MOVE_DEFAULT = """
+            insert into registration_db.user_token (id, user_id, created_date, updated_date, expire_date, token_purpose, token_state, token_digest)
+            select id, user_id, created_date, updated_date, expire_date, token_purpose, token_state, token_digest
+            from registration_db.user_token_default""";
+    private static final String TRUNCATE_DEFAULT = "truncate registration_db.user_token_default";
+    private static final String WEEKS = """
+            select cast(date_trunc('week', localtimestamp) + make_interval(weeks => w) as date) as week
+            from generate_series(0, :weeksAhead) w
+            union
+            select cast(date_trunc('week', expire_date) as date) from registration_db.user_token_default""";
+    private static final String CREATE_PARTITION = """
+            create table if not exists registration_db.%s partition of registration_db.user_token
+            for values from ('%s') to ('%s')""";
+    private static final String DROP_PARTITION = "drop table if exists registration_db.%s";
+    private static final String LIST_PARTITIONS = """
+            select c.relname from pg_inherits i
+            join pg_class c on c.oid = i.inhrelid
+            where i.inhparent = 'registration_db.user_token'::regclass""";
+    private static final String EXPIRED_PARTITIONS = """
+            select c.relname from pg_inherits i
+            join pg_class c on c.oid = i.inhrelid
+            where i.inhparent = 'registration_db.user_token'::regclass
+              and c.relname ~ '^user_token_p[0-9]{8}$'
+              and to_date(substr(c.relname, 13), 'YYYYMMDD') + 7 <= cast(localtimestamp - make_interval(days => :retentionDays) as date)""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserTokenPartitionProperties properties;
+    private final PlatformTransactionManager transactionManager;
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder failedRuns = new LongAdder();
+    private volatile MaintenanceResult lastResult = new MaintenanceResult(0, 0, 0, 0);
+    private volatile String lastError;
+
+    private record MaintenanceResult(int created, int dropped, long movedFromDefault, int partitions) {
+    }
+
+    @PostConstruct
+    void init() {
+        maintain();
+    }
+
+    /**
+     * Creates the partitions of the coming weeks and drops those past retention, unless another node is doing so.
+     */
+    @Scheduled(cron = "${application.security.userToken.partitions.cron:0 15 2 * * *}")
+    public void maintain() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate().queryForObject(TRY_LOCK, Boolean.class))) {
+                    log.info("Skipped token partition maintenance: another node is running it");
+                    return;
+                }
+                jdbcTemplate.getJdbcTemplate().execute(LOCK_TIMEOUT);
+                long movedFromDefault = jdbcTemplate.getJdbcTemplate().queryForObject(COUNT_DEFAULT, Long.class);
+                if (movedFromDefault > 0) {
+                    log.warn("Found {} tokens in the default partition, moving them to their weeks", movedFromDefault);
+                    jdbcTemplate.getJdbcTemplate().execute(DETACH_DEFAULT);
+                }
+                int created = createPartitions();
+                if (movedFromDefault > 0) {
+                    jdbcTemplate.getJdbcTemplate().execute(MOVE_DEFAULT);
+                    jdbcTemplate.getJdbcTemplate().execute(TRUNCATE_DEFAULT);
+                    jdbcTemplate.getJdbcTemplate().execute(ATTACH_DEFAULT);
+                }
+                int dropped = dropPartitions();
+                lastResult = new MaintenanceResult(created, dropped, movedFromDefault, listPartitions().size());
+                log.info("Token partition maintenance created {} and dropped {} partitions", created, dropped);
+            });
+            lastError = null;
+        } catch (RuntimeException ex) {
+            failedRuns.increment();
+            lastError = ex.getMessage();
+            log.error("Token partition maintenance failed, tokens may be landing in the default partition: {}", ex.getMessage(), ex);
+        } finally {
+            runs.increment();
+        }
+    }
+
+    /**
+     * Returns the outcome of the last run on this node.
+     *
+     * @return the partition maintenance statistics
+     */
+    public TokenPartitionStatistics getStatistics() {
+        MaintenanceResult result = lastResult;
+        String error = lastError;
+        return new TokenPartitionStatistics(error == null, runs.sum(), failedRuns.sum(), error,
+                result.created(), result.dropped(), result.movedFromDefault(), result.partitions());
+    }
+
+    /**
+     * Creates the partitions of the coming weeks and of the weeks of any tokens in the default partition.
+     */
+    private int createPartitions() {
+        List<String> existing = listPartitions();
+        List<LocalDate> weeks = jdbcTemplate.queryForList(WEEKS, new MapSqlParameterSource("weeksAhead", properties.getWeeksAhead()), Date.class)
+                .stream()
+                .map(Date::toLocalDate)
+                .toList();
+        int created = 0;
+        for (LocalDate start : weeks) {
+            String name = PARTITION_PREFIX + PARTITION_DATE.format(start);
+            if (!existing.contains(name)) {
+                jdbcTemplate.getJdbcTemplate().execute(CREATE_PARTITION.formatted(name, start, start.plusWeeks(1)));
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Drops the weekly partitions that end on or before the retention cutoff; the default partition is kept.
+     */
+    private int dropPartitions() {
+        List<String> expired = jdbcTemplate.queryForList(EXPIRED_PARTITIONS,
+                new MapSqlParameterSource("retentionDays", properties.getRetentionDays()), String.class);
+        expired.forEach(name -> jdbcTemplate.getJdbcTemplate().execute(DROP_PARTITION.formatted(name)));
+        return expired.size();
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.getJdbcTemplate().queryForList(LIST_PARTITIONS, String.class);
+    }
+}
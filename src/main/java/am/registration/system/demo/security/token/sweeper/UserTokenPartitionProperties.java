@@ -0,0 +1,24 @@
+package am.registration.system.demo.security.token.sweeper;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties of the user token partition manager, under the prefix
+ * {@code application.security.userToken.partitions}: how many weeks ahead weekly partitions are created,
+ * and how many days after its last expiration date a partition is dropped.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 20:31:54
+ */
+@Getter
+@Component
+class UserTokenPartitionProperties {
+
+    @Value("${application.security.userToken.partitions.weeksAhead:4}")
+    private int weeksAhead;
+    @Value("${application.security.userToken.partitions.retentionDays:30}")
+    private int retentionDays;
+}
@@ -0,0 +1,145 @@
+package am.registration.system.demo.security.token.sweeper;
+
+import am.registration.system.demo.util.LogMessages;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expires pending user tokens past their expiration date.
+ * <p>
+ * This is done in chunks of {@code batchSize} rows, each one statement in its own transaction, with a short
+ * pause in between, so no run holds row locks for longer than one chunk takes or produces one huge batch of dead
+ * tuples. Chunks are picked through the partial index on pending tokens by expiration date, and with
+ * {@code SKIP LOCKED}, so a token being consumed at that moment is left for the next run. Old tokens are not
+ * deleted here: the {@link UserTokenPartitionManager} drops whole weekly partitions once they are past retention.
+ * </p>
+ * <p>
+ * A run holds a PostgreSQL session-level advisory lock on a dedicated connection, so only one node of the cluster
+ * sweeps at a time; the others skip their run. The lock is released when the run ends, or by the database if the
+ * node dies. Every run reports its rate and the backlog it left, which is also exposed through {@link #getStatistics()}.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 19:55:43
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserTokenSweeper {
+
+    private static final String TRY_LOCK = "select pg_try_advisory_lock(hashtext('registration_db.user_token_sweeper'))";
+    private static final String UNLOCK = "select pg_advisory_unlock(hashtext('registration_db.user_token_sweeper'))";
+    private static final String EXPIRE = """
+            update registration_db.user_token
+            set token_state = 'FORCIBLY_EXPIRED', updated_date = current_timestamp
+            where (id, expire_date) in (select id, expire_date from registration_db.user_token
+                                        where token_state = 'PENDING' and expire_date < current_timestamp
+                                        order by expire_date
+                                        limit :batchSize
+                                        for update skip locked)""";
+    private static final String EXPIRE_BACKLOG = """
+            select count(*) from registration_db.user_token
+            where token_state = 'PENDING' and expire_date < current_timestamp""";
+
+    private final DataSource dataSource;
+    private final UserTokenSweeperProperties properties;
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder skippedRuns = new LongAdder();
+    private volatile SweepResult lastResult = new SweepResult(0, 0, 0);
+
+    private record SweepResult(long expired, long elapsedMillis, long expiredBacklog) {
+    }
+
+    /**
+     * Sweeps the token table, unless another node is sweeping it.
+     *
+     * @return true if this node swept, false if the run was skipped
+     */
+    public boolean sweep() {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try {
+                return sweep(new NamedParameterJdbcTemplate(new SingleConnectionDataSource(connection, true)));
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to sweep user tokens", ex);
+        }
+    }
+
+    /**
+     * Returns the counters of this node and the outcome of its last run.
+     *
+     * @return the sweep statistics
+     */
+    public TokenSweepStatistics getStatistics() {
+        SweepResult result = lastResult;
+        return new TokenSweepStatistics(runs.sum(), skippedRuns.sum(), result.expired(), result.elapsedMillis(),
+                rowsPerSecond(result), result.expiredBacklog());
+    }
+
+    private boolean sweep(final NamedParameterJdbcTemplate jdbcTemplate) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate().queryForObject(TRY_LOCK, Boolean.class))) {
+            skippedRuns.increment();
+            log.info("Skipped token sweep: another node is sweeping");
+            return false;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            var parameters = new MapSqlParameterSource("batchSize", properties.getBatchSize());
+            long expired = drain(jdbcTemplate, EXPIRE, parameters);
+            long elapsedMillis = System.currentTimeMillis() - started;
+            SweepResult result = new SweepResult(expired, elapsedMillis,
+                    jdbcTemplate.queryForObject(EXPIRE_BACKLOG, parameters, Long.class));
+            lastResult = result;
+            runs.increment();
+            log.info(LogMessages.FINISH_SCHEDULE, expired, elapsedMillis, String.format("%.1f", rowsPerSecond(result)),
+                    result.expiredBacklog());
+            return true;
+        } finally {
+            jdbcTemplate.getJdbcTemplate().queryForObject(UNLOCK, Boolean.class);
+        }
+    }
+
+    /**
+     * Runs the statement chunk after chunk until a chunk comes back short, pausing between chunks.
+     */
+    private long drain(final NamedParameterJdbcTemplate jdbcTemplate, final String sql, final MapSqlParameterSource parameters) {
+        long total = 0;
+        int affected;
+        do {
+            affected = jdbcTemplate.update(sql, parameters);
+            total += affected;
+        } while (affected == properties.getBatchSize() && pause());
+        return total;
+    }
+
+    private boolean pause() {
+        if (properties.getPauseMillis() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPauseMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static double rowsPerSecond(final SweepResult result) {
+        return result.expired() * 1000.0 / Math.max(1, result.elapsedMillis());
+    }
+}
@@ -0,0 +1,23 @@
+package am.registration.system.demo.security.token.sweeper;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties of the user token sweeper, under the prefix {@code application.security.userToken.sweeper}:
+ * the number of tokens expired per statement and the pause between two statements.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 19:48:20
+ */
+@Getter
+@Component
+class UserTokenSweeperProperties {
+
+    @Value("${application.security.userToken.sweeper.batchSize:1000}")
+    private int batchSize;
+    @Value("${application.security.userToken.sweeper.pauseMillis:50}")
+    private long pauseMillis;
+}
@@ -1,25 +1,23 @@
 package am.registration.system.demo.security.token.validation;
 
 import am.registration.system.demo.mapper.UserMapper;
-import am.registration.system.demo.model.entity.User;
-import am.registration.system.demo.security.token.key.provider.JwtKeyProvider;
-import am.registration.system.demo.service.user.management.UserManagementService;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
+import am.registration.system.demo.security.token.claims.TokenClaimsDto;
+import am.registration.system.demo.security.token.claims.TokenClaimsMapper;
+import am.registration.system.demo.security.token.enums.TokenType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
-
 /**
  * Implementation of the IJwtTokenValidator interface for validating JWT tokens.
  * This class is responsible for verifying token integrity, extracting claims,
- * and ensuring the token has not expired. It uses a public key for signature validation.
+ * and ensuring the token has not expired. Tokens are parsed by the shared TokenParser.
+ * Each token is verified once; the result is kept in the VerifiedTokenCache until the token expires.
  * *
  * * Dependencies:
- * - UserMapper: Maps user-related data between different layers.
- * - JwtKeyProvider: Provides the public key used for JWT signature validation.
- * - UserManagementService: Retrieves user information from the data source.
+ * - UserMapper: Builds the principal from the verified token claims.
+ * - TokenParser: Verifies the token signature with the JWT public key.
+ * - TokenClaimsMapper: Reads verified claims back into a TokenClaimsDto.
+ * - VerifiedTokenCache: Holds tokens that have already been verified.
  * *
  * Author: Artyom Aroyan
  * Date: 21.02.25
@@ -30,9 +28,9 @@ import java.util.Date;
 public class JwtTokenValidator implements IJwtTokenValidator {
 
     private final UserMapper userMapper;
-    private final JwtKeyProvider jwtKeyProvider;
-    private final ExtractTokenClaims extractTokenClaims;
-    private final UserManagementService userManagementService;
+    private final TokenParser tokenParser;
+    private final TokenClaimsMapper tokenClaimsMapper;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     /**
      * Validates the given JWT token by checking its integrity, comparing the embedded username
@@ -44,8 +42,9 @@ public class JwtTokenValidator implements IJwtTokenValidator {
      */
     @Override
     public boolean validateToken(final String token, final String username) {
-        final User user = extractUserFromToken(token);
-        return user != null && user.getUsername().equals(username) && !isTokenExpired(token);
+        final VerifiedToken verifiedToken = verify(token);
+        return username != null && username.equals(verifiedToken.claims().username())
+                && !verifiedToken.isExpired(System.currentTimeMillis());
     }
 
     /**
@@ -55,54 +54,35 @@ public class JwtTokenValidator implements IJwtTokenValidator {
      * @return the username embedded in the token
      */
     public String extractUsername(final String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    /**
-     * Checks if the JWT token has expired.
-     *
-     * @param token the JWT token to be validated
-     * @return true if the token is expired; false otherwise
-     */
-    private boolean isTokenExpired(final String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Extracts the expiration date from the JWT token.
-     *
-     * @param token the JWT token from which to extract the expiration date
-     * @return the expiration date of the token
-     */
-    private Date extractExpiration(final String token) {
-        return extractAllClaims(token).getExpiration();
+        return verify(token).claims().username();
     }
 
     /**
-     * Extracts all claims from the JWT token.
-     * Uses the public key provided by the JwtKeyProvider to validatePasswordResetRequest the signature.
+     * Verifies the JWT token once and reads its user claims.
+     * The signature and expiration are checked while parsing, so no further validation is required.
      *
-     * @param token the JWT token to be parsed
-     * @return the Claims object containing all the token's claims
+     * @param token the JWT token to verify
+     * @return the user ID, username, roles, authorities and state embedded in the token
      */
-    private Claims extractAllClaims(final String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(jwtKeyProvider.getPublicKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public TokenClaimsDto extractTokenClaims(final String token) {
+        return verify(token).claims();
     }
 
     /**
-     * Extracts a User entity from the given JWT token by parsing its claims.
-     * Uses the username embedded in the token to retrieve the corresponding user entity.
+     * Verifies the JWT token, or returns the cached result of an earlier verification.
+     * The signature is checked only on a cache miss; the result is cached until the token expires.
      *
-     * @param token the JWT token containing user information
-     * @return the User entity extracted from the token or null if not found
+     * @param token the JWT token to verify
+     * @return the verified claims, the principal built from them and the token expiration
      */
-    private User extractUserFromToken(final String token) {
-        Claims claims = extractTokenClaims.extractClaimsFormToken(token, jwtKeyProvider.getPublicKey());
-        final String username = claims.getSubject();
-        return userMapper.mapFromResponseToEntity(userManagementService.getUserByUsername(username).data());
+    public VerifiedToken verify(final String token) {
+        return verifiedTokenCache.get(token).orElseGet(() -> {
+            final ParsedToken parsedToken = tokenParser.parse(TokenType.JSON_WEB_TOKEN, token);
+            final TokenClaimsDto tokenClaims = tokenClaimsMapper.mapFromJwtClaims(parsedToken.claims());
+            final VerifiedToken verifiedToken = new VerifiedToken(tokenClaims,
+                    userMapper.mapFromClaimsToPrincipal(tokenClaims), parsedToken.expiration());
+            verifiedTokenCache.put(token, verifiedToken);
+            return verifiedToken;
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package am.registration.system.demo.security.token.validation;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * The result of parsing and verifying a token once: its subject, expiration and full claim set.
+ * Callers read everything they need from this object instead of parsing the token again.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 12:21:06
+ */
+public record ParsedToken(String subject, Date expiration, Claims claims) {
+
+    static ParsedToken from(Claims claims) {
+        return new ParsedToken(claims.getSubject(), claims.getExpiration(), claims);
+    }
+}
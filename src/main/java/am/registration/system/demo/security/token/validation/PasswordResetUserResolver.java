@@ -2,9 +2,10 @@ package am.registration.system.demo.security.token.validation;
 
 import am.registration.system.demo.mapper.UserMapper;
 import am.registration.system.demo.model.entity.User;
-import am.registration.system.demo.security.token.configuration.UserTokenProperties;
+import am.registration.system.demo.model.repository.UserTokenRepository;
+import am.registration.system.demo.security.token.service.OpaqueTokenGenerator;
 import am.registration.system.demo.service.user.management.UserManagementService;
-import io.jsonwebtoken.Claims;
+import am.registration.system.demo.util.LogMessages;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -12,7 +13,7 @@ import org.springframework.stereotype.Component;
 /**
  * Manages password reset tokens by extracting user information from the token.
  * <p>
- * This component is responsible for parsing JWT password reset tokens and retrieving the associated user.
+ * This component is responsible for finding the user a password reset token was issued to, by the digest of the token.
  * </p>
  * Author: Artyom Aroyan
  * Date: 13.03.25
@@ -23,24 +24,24 @@ import org.springframework.stereotype.Component;
 public class PasswordResetUserResolver {
 
     private final UserMapper userMapper;
-    private final ExtractTokenClaims extractTokenClaims;
-    private final UserTokenProperties userTokenProperties;
+    private final UserTokenRepository userTokenRepository;
     private final UserManagementService userManagementService;
 
     /**
      * Extracts the user associated with the given password reset token.
      * <p>
-     * This method parses the JWT token to extract claims, including the username, and then retrieves the user
-     * from the database. If the username is not found, an exception is thrown.
+     * This method looks up the username of the token's owner by the digest of the token, and then retrieves the user
+     * from the database. If the token or the user is not found, an exception is thrown.
      * </p>
      *
-     * @param token the JWT password reset token
+     * @param token the password reset token
      * @return the {@link User} associated with the token
      * @throws UsernameNotFoundException if the user is not found
      */
     public User extractUserFromToken(final String token) {
-        Claims claims = extractTokenClaims.extractClaimsFormToken(token, userTokenProperties.getPasswordResetSigningKey());
-        final String username = claims.getSubject();
+        final String username = userTokenRepository.findUsernamesByTokenDigest(OpaqueTokenGenerator.digest(token)).stream()
+                .findFirst()
+                .orElseThrow(() -> new UsernameNotFoundException(LogMessages.NO_USER_FOUND));
         return userMapper.mapFromResponseToEntity(userManagementService.getUserByUsername(username).data());
     }
 }
@@ -0,0 +1,11 @@
+package am.registration.system.demo.security.token.validation;
+
+/**
+ * A point-in-time snapshot of the verified token cache counters.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 11:04:48
+ */
+public record TokenCacheStatistics(long hits, long misses, long evictions, int size, int maximumSize) {
+}
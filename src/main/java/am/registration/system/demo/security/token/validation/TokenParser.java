@@ -0,0 +1,47 @@
+package am.registration.system.demo.security.token.validation;
+
+import am.registration.system.demo.security.token.enums.TokenType;
+import am.registration.system.demo.security.token.key.provider.SigningKeyManager;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parses and verifies tokens of every {@link TokenType}.
+ * <p>
+ * One immutable, thread-safe {@link JwtParser} is built per token type at startup from the
+ * verification keys of the {@link SigningKeyManager}, so parsing a token never rebuilds a parser.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 12:26:40
+ */
+@Component
+class TokenParser {
+
+    private final Map<TokenType, JwtParser> parsers = new EnumMap<>(TokenType.class);
+
+    TokenParser(SigningKeyManager signingKeyManager) {
+        for (TokenType type : TokenType.values()) {
+            parsers.put(type, Jwts.parserBuilder()
+                    .setSigningKey(signingKeyManager.retrieveVerificationKey(type))
+                    .build());
+        }
+    }
+
+    /**
+     * Parses the token and verifies its signature and expiration.
+     *
+     * @param type  the type of the token, selecting the verification key
+     * @param token the token to parse
+     * @return the subject, expiration and claims of the token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or its signature is invalid
+     */
+    ParsedToken parse(final TokenType type, final String token) {
+        return ParsedToken.from(parsers.get(type).parseClaimsJws(token).getBody());
+    }
+}
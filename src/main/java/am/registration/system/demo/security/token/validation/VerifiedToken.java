@@ -0,0 +1,27 @@
+package am.registration.system.demo.security.token.validation;
+
+import am.registration.system.demo.model.dto.UserPrincipal;
+import am.registration.system.demo.security.token.claims.TokenClaimsDto;
+
+import java.util.Date;
+
+/**
+ * The outcome of verifying a JWT once: its user claims, the principal built from them,
+ * and the expiration after which the result must no longer be used.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 11:02:15
+ */
+public record VerifiedToken(TokenClaimsDto claims, UserPrincipal principal, Date expiration) {
+
+    /**
+     * Checks whether the token has expired at the given time.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return true if the token is no longer valid
+     */
+    public boolean isExpired(long nowMillis) {
+        return expiration == null || expiration.getTime() <= nowMillis;
+    }
+}
@@ -0,0 +1,150 @@
+package am.registration.system.demo.security.token.validation;
+
+import am.registration.system.demo.security.token.configuration.JwtTokenProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent, size-bounded cache of verified JWTs.
+ * <p>
+ * Clients reuse the same bearer token for many calls, so the ECDSA signature check only needs to
+ * run once per token. Entries are keyed by a SHA-256 digest of the token, so raw tokens are never
+ * held in memory, and each entry is dropped once the token's {@code exp} has passed.
+ * </p>
+ * <p>
+ * When the cache is full, expired entries are purged first; if that is not enough, a tenth of the
+ * entries are evicted in one pass, so the purge cost is amortized over many inserts. An insert into a
+ * full cache while another thread is evicting is skipped rather than waiting, so the size only exceeds
+ * the maximum by the inserts racing the same size check. A maximum size of zero disables the cache.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 11:08:31
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final int maximumSize;
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(JwtTokenProperties jwtTokenProperties) {
+        this.maximumSize = Math.max(0, jwtTokenProperties.getVerifiedTokenCacheSize());
+    }
+
+    /**
+     * Looks up a previously verified token.
+     *
+     * @param token the raw JWT
+     * @return the verified token, or empty if it is not cached or has expired
+     */
+    public Optional<VerifiedToken> get(final String token) {
+        if (maximumSize == 0) {
+            return Optional.empty();
+        }
+        var key = digest(token);
+        var entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry);
+    }
+
+    /**
+     * Stores a verified token until its expiration.
+     *
+     * @param token         the raw JWT
+     * @param verifiedToken the verification result
+     */
+    public void put(final String token, final VerifiedToken verifiedToken) {
+        if (maximumSize == 0 || verifiedToken.isExpired(System.currentTimeMillis())) {
+            return;
+        }
+        if (entries.size() >= maximumSize && !evict()) {
+            return;
+        }
+        entries.put(digest(token), verifiedToken);
+    }
+
+    /**
+     * Returns the current cache counters.
+     *
+     * @return the cache statistics
+     */
+    public TokenCacheStatistics getStatistics() {
+        return new TokenCacheStatistics(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maximumSize);
+    }
+
+    /**
+     * Removes expired entries and, if the cache is still full, a tenth of the remaining entries.
+     * Only one thread evicts at a time; others do not wait for it.
+     *
+     * @return true if this thread evicted, false if another thread was already evicting
+     */
+    private boolean evict() {
+        if (!evictionLock.tryLock()) {
+            return false;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.entrySet().removeIf(entry -> {
+                boolean expired = entry.getValue().isExpired(now);
+                if (expired) {
+                    evictions.increment();
+                }
+                return expired;
+            });
+
+            int target = maximumSize - Math.max(1, maximumSize / 10);
+            Iterator<String> iterator = entries.keySet().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Computes the cache key of a token.
+     *
+     * @param token the raw JWT
+     * @return the Base64-encoded SHA-256 digest of the token
+     */
+    private String digest(final String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
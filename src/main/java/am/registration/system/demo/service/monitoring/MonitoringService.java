@@ -0,0 +1,90 @@
+package am.registration.system.demo.service.monitoring;
+
+import am.registration.system.demo.api.response.ApiResponse;
+import am.registration.system.demo.api.response.ApiResponseBuilder;
+import am.registration.system.demo.email.MailDeliveryEngine;
+import am.registration.system.demo.email.MailDeliveryStatistics;
+import am.registration.system.demo.security.password.Argon2CalibrationResult;
+import am.registration.system.demo.security.password.Argon2Hashing;
+import am.registration.system.demo.security.password.PasswordHashingStatistics;
+import am.registration.system.demo.security.token.sweeper.TokenPartitionStatistics;
+import am.registration.system.demo.security.token.sweeper.TokenSweepStatistics;
+import am.registration.system.demo.security.token.sweeper.UserTokenPartitionManager;
+import am.registration.system.demo.security.token.sweeper.UserTokenSweeper;
+import am.registration.system.demo.security.token.validation.TokenCacheStatistics;
+import am.registration.system.demo.security.token.validation.VerifiedTokenCache;
+import am.registration.system.demo.util.LogMessages;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service exposing runtime statistics of the security, token sweeping and mail delivery subsystems, used to size nodes.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 13:42:33
+ */
+@Service
+@RequiredArgsConstructor
+public class MonitoringService {
+
+    private final Argon2Hashing argon2Hashing;
+    private final MailDeliveryEngine mailDeliveryEngine;
+    private final UserTokenSweeper userTokenSweeper;
+    private final UserTokenPartitionManager userTokenPartitionManager;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Retrieves queue depth, wait time and hash latency of the password hashing pool.
+     *
+     * @return ApiResponseBuilder containing the hashing statistics
+     */
+    public ApiResponseBuilder<PasswordHashingStatistics> getPasswordHashingStatistics() {
+        return ApiResponse.success(argon2Hashing.getHashingStatistics(), LogMessages.SUCCESS_RESPONSE);
+    }
+
+    /**
+     * Retrieves the Argon2 parameters new hashes are encoded with, and the calibration that chose them.
+     *
+     * @return ApiResponseBuilder containing the calibration result
+     */
+    public ApiResponseBuilder<Argon2CalibrationResult> getPasswordHashingParameters() {
+        return ApiResponse.success(argon2Hashing.getCalibrationResult(), LogMessages.SUCCESS_RESPONSE);
+    }
+
+    /**
+     * Retrieves hit, miss and eviction counters of the verified token cache.
+     *
+     * @return ApiResponseBuilder containing the token cache statistics
+     */
+    public ApiResponseBuilder<TokenCacheStatistics> getTokenCacheStatistics() {
+        return ApiResponse.success(verifiedTokenCache.getStatistics(), LogMessages.SUCCESS_RESPONSE);
+    }
+
+    /**
+     * Retrieves the open connections, handshake count and delivery rate of the pooled SMTP transports.
+     *
+     * @return ApiResponseBuilder containing the mail delivery statistics
+     */
+    public ApiResponseBuilder<MailDeliveryStatistics> getMailDeliveryStatistics() {
+        return ApiResponse.success(mailDeliveryEngine.getStatistics(), LogMessages.SUCCESS_RESPONSE);
+    }
+
+    /**
+     * Retrieves the rate and the remaining backlog of the expired token sweeper.
+     *
+     * @return ApiResponseBuilder containing the token sweep statistics
+     */
+    public ApiResponseBuilder<TokenSweepStatistics> getTokenSweepStatistics() {
+        return ApiResponse.success(userTokenSweeper.getStatistics(), LogMessages.SUCCESS_RESPONSE);
+    }
+
+    /**
+     * Retrieves the outcome of the last user token partition maintenance, failed runs included.
+     *
+     * @return ApiResponseBuilder containing the token partition statistics
+     */
+    public ApiResponseBuilder<TokenPartitionStatistics> getTokenPartitionStatistics() {
+        return ApiResponse.success(userTokenPartitionManager.getStatistics(), LogMessages.SUCCESS_RESPONSE);
+    }
+}
@@ -3,45 +3,85 @@ package am.registration.system.demo.service.user;
 import am.registration.system.demo.model.dto.UserPrincipal;
 import am.registration.system.demo.model.entity.User;
 import am.registration.system.demo.model.repository.UserRepository;
+import am.registration.system.demo.security.rbac.RbacSnapshotService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 
 /**
  * Custom implementation of the UserDetailsService interface used for loading user-specific data.
  * This service is used during authentication to load user details from the database by username.
+ * As a UserDetailsPasswordService it also stores passwords rehashed with the current Argon2 parameters
+ * after a successful login.
  * *
  * Author: Artyom Aroyan
  * Date: 17.02.25
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetails implements UserDetailsService {
+public class CustomUserDetails implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final RbacSnapshotService rbacSnapshotService;
 
     /**
      * Loads a user by their username from the database.
      * This method is called during authentication to retrieve user details.
+     * The user and its roles are read in one query; the returned principal is the single record the password
+     * is verified against and the JWT is issued from. Its permission mask is taken from the
+     * {@link RbacSnapshotService}, the same source the JWT mask is built from, so permissions are not loaded.
      *
      * @param username the username identifying the user whose data is required
      * @return UserDetails containing user information such as username, password, roles, and state
      * @throws UsernameNotFoundException if no user with the given username is found
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findUserByUsername(username)
+        User user = userRepository.findWithRolesByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User with username " + username + " not found:"));
 
+        Collection<? extends GrantedAuthority> authorities = UserPrincipal.convertRolesToAuthorities(user.getRoles());
         return new UserPrincipal(
                 user.getId(),
                 user.getUsername(),
                 user.getPassword(),
                 user.getEmail(),
-                user.getRoles(),
-                user.getUserState()
+                authorities,
+                user.getUserState(),
+                rbacSnapshotService.getPermissionMask(authorities)
         );
     }
+
+    /**
+     * Stores the password of a user, rehashed after a successful login.
+     *
+     * @param user        the authenticated user
+     * @param newPassword the password encoded with the current parameters
+     * @return the user details carrying the new password
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        if (user instanceof UserPrincipal principal) {
+            return new UserPrincipal(
+                    principal.getId(),
+                    principal.getUsername(),
+                    newPassword,
+                    principal.getEmail(),
+                    principal.getAuthorities(),
+                    principal.getUserState(),
+                    principal.getPermissionMask()
+            );
+        }
+        return loadUserByUsername(user.getUsername());
+    }
 }
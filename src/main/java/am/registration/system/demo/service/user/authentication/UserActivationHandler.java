@@ -3,14 +3,13 @@ package am.registration.system.demo.service.user.authentication;
 import am.registration.system.demo.api.response.ApiResponse;
 import am.registration.system.demo.api.response.ApiResponseBuilder;
 import am.registration.system.demo.exception.InvalidTokenException;
-import am.registration.system.demo.exception.TokenDeactivationException;
 import am.registration.system.demo.exception.TokenNotFoundException;
-import am.registration.system.demo.exception.UserActivationException;
 import am.registration.system.demo.model.entity.UserToken;
-import am.registration.system.demo.model.repository.UserRepository;
+import am.registration.system.demo.model.enums.UserState;
 import am.registration.system.demo.model.repository.UserTokenRepository;
-import am.registration.system.demo.security.token.service.UserTokenService;
-import am.registration.system.demo.service.user.validation.TokenValidatorService;
+import am.registration.system.demo.security.token.enums.TokenPurpose;
+import am.registration.system.demo.security.token.enums.TokenState;
+import am.registration.system.demo.security.token.service.OpaqueTokenGenerator;
 import am.registration.system.demo.util.ExceptionMessages;
 import am.registration.system.demo.util.LogMessages;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +19,12 @@ import org.springframework.stereotype.Service;
 /**
  * Service responsible for handling user email activation and token validation.
  * This service verifies the activation token, activates the user, and deactivates the token.
+ * <p>
+ * The token is validated, consumed and its user activated by a single statement, so two requests with the
+ * same token cannot both pass validation, and a valid link costs one round trip. Verification links are
+ * often opened more than once, by mail scanners prefetching them and then by the user, so a link whose
+ * token was already consumed by the activation of its user succeeds again without changing anything.
+ * </p>
  * *
  * Author: Artyom Aroyan
  * Date: 22.02.25
@@ -30,26 +35,37 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 class UserActivationHandler {
 
-    private final UserRepository userRepository;
-    private final UserTokenService userTokenService;
     private final UserTokenRepository userTokenRepository;
-    private final TokenValidatorService tokenValidatorService;
 
     /**
-     * Activates the user's email by validating the provided token and updating the user state.
+     * Activates the user's email by consuming the provided token and updating the user state.
      *
      * @param token the activation token
      * @return ApiResponseBuilder<String> containing the success message
      * @throws TokenNotFoundException if the token is not found in the database
      * @throws InvalidTokenException if the token is invalid or expired
-     * @throws UserActivationException if activation of the user fails
-     * @throws TokenDeactivationException if deactivation of the token fails
      */
     protected ApiResponseBuilder<String> activateUserAccount(final String token) {
+        if (consumeActivationToken(token)) {
+            return ApiResponse.success(LogMessages.ACTIVATION_SUCCEEDED);
+        }
         var activationToken = fetchActivationToken(token);
-        validateActivationToken(activationToken);
-        activateUserAndInvalidateToken(activationToken);
-        return ApiResponse.success(LogMessages.ACTIVATION_SUCCEEDED);
+        if (isConsumedByActivation(activationToken)) {
+            log.debug("Activation token {} was already used", activationToken.getId());
+            return ApiResponse.success(LogMessages.ACTIVATION_SUCCEEDED);
+        }
+        log.info(LogMessages.INVALID_ACTIVATION_TOKEN, activationToken.getId());
+        throw new InvalidTokenException(ExceptionMessages.INVALID_ACTIVATION_TOKEN);
+    }
+
+    /**
+     * Marks the token as verified and activates its user, if the token is a pending, unexpired activation token.
+     *
+     * @param token the activation token string
+     * @return true if the token was consumed, false if it was not pending
+     */
+    private boolean consumeActivationToken(final String token) {
+        return token != null && userTokenRepository.consumeVerificationToken(OpaqueTokenGenerator.digest(token)).isPresent();
     }
 
     /**
@@ -65,46 +81,14 @@ class UserActivationHandler {
     }
 
     /**
-     * Validates the activation token to ensure it is valid and not expired.
-     *
-     * @param token the UserToken to be validated
-     * @throws InvalidTokenException if the activation token is invalid or expired
-     */
-    private void validateActivationToken(final UserToken token) {
-        if (isInvalidActivationToken(token)) {
-            log.info(LogMessages.INVALID_ACTIVATION_TOKEN);
-            throw new InvalidTokenException(ExceptionMessages.INVALID_ACTIVATION_TOKEN);
-        }
-    }
-
-    /**
-     * Checks whether the provided activation token is valid.
+     * Checks whether the token is an activation token that was already used to activate its user.
      *
      * @param token the UserToken to be checked
-     * @return true if the token is invalid, false otherwise
-     */
-    private boolean isInvalidActivationToken(final UserToken token) {
-        return !tokenValidatorService.isValidVerificationToken(token.getToken());
-    }
-
-    /**
-     * Activates the user associated with the token and deactivates the token afterward.
-     *
-     * @param token the UserToken associated with the user to be activated
-     * @throws UserActivationException if the user activation process fails
-     * @throws TokenDeactivationException if the token deactivation process fails
+     * @return true if the token was consumed and its user is active, false otherwise
      */
-    private void activateUserAndInvalidateToken(final UserToken token) {
-        try {
-            var user = token.getUser();
-            userRepository.updateUserState(user.getId());
-            userTokenService.invalidateToken(token);
-        } catch (UserActivationException ex) {
-            log.debug(LogMessages.ACTIVATION_FAILED, ex.getMessage());
-            throw new UserActivationException(String.format(ExceptionMessages.ACTIVATION_FAILED_WITH_REASON, token.getToken(), ex.getCause()), ex.getCause());
-        } catch (TokenDeactivationException ex) {
-            log.debug(LogMessages.TOKEN_DEACTIVATION_FAILED, ex.getMessage());
-            throw new TokenDeactivationException(String.format(ExceptionMessages.TOKEN_DEACTIVATION_FAILED_WITH_REASON, token.getToken(), ex.getCause()), ex.getCause());
-        }
+    private boolean isConsumedByActivation(final UserToken token) {
+        return token.getTokenPurpose() == TokenPurpose.ACCOUNT_VERIFICATION &&
+                token.getTokenState() == TokenState.VERIFIED &&
+                token.getUser().getUserState() == UserState.ACTIVE;
     }
 }
\ No newline at end of file
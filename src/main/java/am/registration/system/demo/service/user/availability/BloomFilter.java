@@ -0,0 +1,116 @@
+package am.registration.system.demo.service.user.availability;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter over strings, sized for an expected number of entries and false positive rate.
+ * {@link #mightContain(String)} never answers false for a string that was added; it answers true for a
+ * string that was not added with about the configured probability, as long as no more than the expected
+ * number of entries were added. Strings cannot be removed.
+ * <p>
+ * Bits live in an {@link AtomicLongArray}, so adds and lookups run concurrently without locks.
+ * The bit positions of a string are derived from one 64-bit hash by double hashing.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:06:14
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param expectedEntries           the number of entries the filter is sized for
+     * @param falsePositiveProbability  the false positive rate at the expected number of entries
+     */
+    BloomFilter(long expectedEntries, double falsePositiveProbability) {
+        long entries = Math.max(1, expectedEntries);
+        long bits = (long) Math.ceil(-entries * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+    }
+
+    /**
+     * Adds a string to the filter; a null string is ignored.
+     *
+     * @param value the string to add
+     */
+    void add(String value) {
+        if (value == null) {
+            return;
+        }
+        long hash = hash(value);
+        long step = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the string may have been added.
+     *
+     * @param value the string to check
+     * @return false if the string was certainly never added, true if it probably was
+     */
+    boolean mightContain(String value) {
+        if (value == null) {
+            return false;
+        }
+        long hash = hash(value);
+        long step = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the size of the filter.
+     *
+     * @return the number of bits
+     */
+    long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters of the string, finished with a mixing step so that every
+     * input bit affects every output bit.
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The finalization step of MurmurHash3.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85EC3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
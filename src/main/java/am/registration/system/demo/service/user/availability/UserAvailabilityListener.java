@@ -0,0 +1,34 @@
+package am.registration.system.demo.service.user.availability;
+
+import am.registration.system.demo.model.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener recording the identifiers of every user inserted or updated through the
+ * persistence context in the availability filters. It runs before the transaction commits, so a
+ * user is reported as taken before another transaction can see it.
+ * <p>
+ * The service is looked up on each call, because Hibernate creates its listeners while the
+ * entity manager factory that the service depends on is still being built.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:29:17
+ */
+@Component
+@RequiredArgsConstructor
+public class UserAvailabilityListener {
+
+    private final ObjectProvider<UserAvailabilityService> userAvailabilityService;
+
+    @PostPersist
+    @PostUpdate
+    void record(User user) {
+        userAvailabilityService.ifAvailable(service -> service.record(user.getUsername(), user.getEmail(), user.getPhone()));
+    }
+}
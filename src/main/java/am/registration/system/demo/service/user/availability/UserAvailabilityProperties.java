@@ -0,0 +1,29 @@
+package am.registration.system.demo.service.user.availability;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties of the availability filters, under the prefix {@code application.userAvailability}:
+ * the false positive rate the filters are sized for, the minimum number of entries they hold, and how many
+ * times the current number of users they are sized for, so that registrations until the next rebuild fit,
+ * and the number of rows fetched from the database cursor at a time while they are built.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:10:55
+ */
+@Getter
+@Component
+class UserAvailabilityProperties {
+
+    @Value("${application.userAvailability.falsePositiveProbability:0.01}")
+    private double falsePositiveProbability;
+    @Value("${application.userAvailability.minimumCapacity:100000}")
+    private long minimumCapacity;
+    @Value("${application.userAvailability.growthFactor:2}")
+    private double growthFactor;
+    @Value("${application.userAvailability.fetchSize:1000}")
+    private int fetchSize;
+}
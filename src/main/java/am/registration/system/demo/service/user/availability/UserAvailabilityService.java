@@ -0,0 +1,273 @@
+package am.registration.system.demo.service.user.availability;
+
+import am.registration.system.demo.api.response.ApiResponse;
+import am.registration.system.demo.api.response.ApiResponseBuilder;
+import am.registration.system.demo.model.dto.UserAvailabilityResponse;
+import am.registration.system.demo.model.dto.UserIdentifiers;
+import am.registration.system.demo.model.repository.UserRepository;
+import am.registration.system.demo.service.user.validation.validator.EmailValidator;
+import am.registration.system.demo.service.user.validation.validator.PhoneValidator;
+import am.registration.system.demo.service.user.validation.validator.UsernameValidator;
+import am.registration.system.demo.util.LogMessages;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Answers whether usernames, emails and phone numbers are already in use, querying the database only
+ * for values that are probably taken.
+ * <p>
+ * One {@link BloomFilter} per identifier holds every stored value. It is built at startup from {@code usr},
+ * and every user stored or updated afterward is recorded in it, by {@link UserAvailabilityListener} for
+ * users saved through JPA, by the callers of {@link #record} otherwise, and, for users stored by other
+ * instances, by a refresh every few seconds that reads the users with an ID above the last one seen from
+ * the primary key index. A value the filter has never seen is free without a query; only the probable hits,
+ * real ones and about one false positive per hundred free values, are confirmed with an existence query.
+ * </p>
+ * <p>
+ * Values cannot be removed from a Bloom filter, so the identifiers of deleted or renamed users stay in it
+ * and merely cost a query until the filters are rebuilt, which happens daily and also resizes them to the
+ * grown table.
+ * </p>
+ * <p>
+ * The filters are local to this instance: a user registered on another instance is reported as free until the
+ * next refresh, and so is one renamed there until the next rebuild. Such a miss is caught by the unique
+ * constraints of {@code usr}, which registration reports as the identifier being in use and bulk imports as
+ * an existing user.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 17:18:42
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAvailabilityService {
+
+    private final UserRepository userRepository;
+    private final UserAvailabilityProperties properties;
+    private final PlatformTransactionManager transactionManager;
+    private final AtomicReference<Filters> filters = new AtomicReference<>();
+    private final ReentrantLock scanLock = new ReentrantLock();
+    private volatile Filters rebuilding;
+    private int lastSeenId;
+
+    /**
+     * The filters of the three identifiers, sized together.
+     */
+    private record Filters(BloomFilter usernames, BloomFilter emails, BloomFilter phones) {
+
+        private Filters(long capacity, double falsePositiveProbability) {
+            this(new BloomFilter(capacity, falsePositiveProbability),
+                    new BloomFilter(capacity, falsePositiveProbability),
+                    new BloomFilter(capacity, falsePositiveProbability));
+        }
+
+        private void add(String username, String email, String phone) {
+            usernames.add(username);
+            emails.add(email);
+            phones.add(phone);
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    /**
+     * Builds new filters from all stored users and swaps them in. Users recorded while the table is
+     * being read are added to both the current and the new filters, so none is lost by the swap.
+     */
+    @Scheduled(cron = "${application.userAvailability.rebuildCron:0 0 3 * * *}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long users = userRepository.count();
+        long capacity = Math.max(properties.getMinimumCapacity(), (long) (users * properties.getGrowthFactor()));
+        Filters next = new Filters(capacity, properties.getFalsePositiveProbability());
+        AtomicInteger maxId = new AtomicInteger();
+        scanLock.lock();
+        rebuilding = next;
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<UserIdentifiers> identifiers = userRepository.streamAllIdentifiers(properties.getFetchSize())) {
+                    identifiers.forEach(user -> {
+                        next.add(user.username(), user.email(), user.phone());
+                        maxId.accumulateAndGet(user.id(), Math::max);
+                    });
+                }
+            });
+            filters.set(next);
+            lastSeenId = Math.max(lastSeenId, maxId.get());
+        } finally {
+            rebuilding = null;
+            scanLock.unlock();
+        }
+        log.info("Built availability filters of {} users, sized for {} ({} bits each), in {} ms",
+                users, capacity, next.usernames().getBitCount(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Records the users stored since the last one seen, by this or another instance, reading them in
+     * ID order in pages of the fetch size. Skipped while a rebuild reads the whole table.
+     */
+    @Scheduled(initialDelayString = "${application.userAvailability.refreshDelay:5000}",
+            fixedDelayString = "${application.userAvailability.refreshDelay:5000}")
+    public void refresh() {
+        if (!scanLock.tryLock()) {
+            return;
+        }
+        try {
+            int pageSize = Math.max(1, properties.getFetchSize());
+            List<UserIdentifiers> users;
+            do {
+                users = userRepository.findIdentifiersAfter(lastSeenId, Limit.of(pageSize));
+                for (UserIdentifiers user : users) {
+                    record(user.username(), user.email(), user.phone());
+                    lastSeenId = user.id();
+                }
+            } while (users.size() == pageSize);
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    /**
+     * Records the identifiers of a stored user, so that they are reported as taken from now on.
+     * A record racing the swap of a rebuild may read the old filters and then find no rebuild in
+     * progress, so the current filters are read again and the identifiers added to them if they changed.
+     *
+     * @param username the username, may be null
+     * @param email    the email, may be null
+     * @param phone    the phone number, may be null
+     */
+    public void record(final String username, final String email, final String phone) {
+        Filters current = filters.get();
+        if (current != null) {
+            current.add(username, email, phone);
+        }
+        Filters next = rebuilding;
+        if (next != null) {
+            next.add(username, email, phone);
+        }
+        Filters latest = filters.get();
+        if (latest != current && latest != next && latest != null) {
+            latest.add(username, email, phone);
+        }
+    }
+
+    /**
+     * Checks whether a user with the username exists, without a query if the username was never stored.
+     *
+     * @param username the username to check
+     * @return true if the username is taken
+     */
+    public boolean isUsernameTaken(final String username) {
+        return isTaken(username, Filters::usernames, userRepository::existsByUsername);
+    }
+
+    /**
+     * Checks whether a user with the email exists, without a query if the email was never stored.
+     *
+     * @param email the email to check
+     * @return true if the email is taken
+     */
+    public boolean isEmailTaken(final String email) {
+        return isTaken(email, Filters::emails, userRepository::existsByEmail);
+    }
+
+    /**
+     * Checks whether a user with the phone number exists, without a query if the number was never stored.
+     *
+     * @param phone the phone number to check
+     * @return true if the phone number is taken
+     */
+    public boolean isPhoneTaken(final String phone) {
+        return isTaken(phone, Filters::phones, userRepository::existsByPhone);
+    }
+
+    /**
+     * Returns those of the usernames that are taken, querying only the probable hits, in one query.
+     *
+     * @param usernames the usernames to check
+     * @return the taken usernames
+     */
+    public Set<String> findTakenUsernames(final Collection<String> usernames) {
+        return findTaken(usernames, Filters::usernames, userRepository::findExistingUsernames);
+    }
+
+    /**
+     * Returns those of the emails that are taken, querying only the probable hits, in one query.
+     *
+     * @param emails the emails to check
+     * @return the taken emails
+     */
+    public Set<String> findTakenEmails(final Collection<String> emails) {
+        return findTaken(emails, Filters::emails, userRepository::findExistingEmails);
+    }
+
+    /**
+     * Returns those of the phone numbers that are taken, querying only the probable hits, in one query.
+     *
+     * @param phones the phone numbers to check
+     * @return the taken phone numbers
+     */
+    public Set<String> findTakenPhones(final Collection<String> phones) {
+        return findTaken(phones, Filters::phones, userRepository::findExistingPhones);
+    }
+
+    /**
+     * Checks which of the given identifiers can be used to register. Identifiers that are not given are not checked.
+     * <p>
+     * The answer is a hint for forms, not a reservation: an identifier registered on another instance since the
+     * last refresh of the filters, a few seconds ago, is reported as available, and registration then rejects it.
+     * </p>
+     *
+     * @param username the username to check, may be null
+     * @param email    the email to check, may be null
+     * @param phone    the phone number to check, may be null
+     * @return ApiResponseBuilder containing the availability of each given identifier
+     */
+    public ApiResponseBuilder<UserAvailabilityResponse> checkAvailability(final String username, final String email, final String phone) {
+        var response = new UserAvailabilityResponse(
+                username == null ? null : UsernameValidator.hasValidFormat(username) && !isUsernameTaken(username),
+                email == null ? null : EmailValidator.hasValidFormat(email) && !isEmailTaken(email),
+                phone == null ? null : PhoneValidator.hasValidFormat(phone) && !isPhoneTaken(phone));
+        return ApiResponse.success(response, LogMessages.SUCCESS_RESPONSE);
+    }
+
+    private boolean isTaken(final String value, final Function<Filters, BloomFilter> filter, final Predicate<String> exists) {
+        Filters current = filters.get();
+        if (current != null && !filter.apply(current).mightContain(value)) {
+            return false;
+        }
+        return exists.test(value);
+    }
+
+    private Set<String> findTaken(final Collection<String> values, final Function<Filters, BloomFilter> filter,
+                                  final Function<Collection<String>, Set<String>> existing) {
+        Filters current = filters.get();
+        List<String> probable = values.stream()
+                .filter(value -> current == null || filter.apply(current).mightContain(value))
+                .toList();
+        return probable.isEmpty() ? Set.of() : existing.apply(probable);
+    }
+}
@@ -0,0 +1,26 @@
+package am.registration.system.demo.service.user.bulkimport;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties of the bulk user import, under the prefix {@code application.userImport}:
+ * the number of rows validated, hashed and written together, the number of passwords of one import
+ * hashed at once, and the number of rejected rows listed in the import report.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 16:34:02
+ */
+@Getter
+@Component
+class UserImportProperties {
+
+    @Value("${application.userImport.batchSize:1000}")
+    private int batchSize;
+    @Value("${application.userImport.hashingParallelism:2}")
+    private int hashingParallelism;
+    @Value("${application.userImport.maxReportedErrors:1000}")
+    private int maxReportedErrors;
+}
@@ -0,0 +1,220 @@
+package am.registration.system.demo.service.user.bulkimport;
+
+import am.registration.system.demo.model.dto.UserRequest;
+import am.registration.system.demo.service.user.export.UserExportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the rows of a user import upload one at a time, as NDJSON lines or as CSV records
+ * under a header record. The columns of a CSV header may be named as in the export ({@code full_name})
+ * or as in the request ({@code fullName}); columns other than the user request fields are ignored.
+ * A row that cannot be parsed is returned carrying the error, so one bad row never
+ * aborts the import. Quoted CSV fields may span lines, as the export writes them; a row is
+ * reported at the line its record starts on.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 16:36:20
+ */
+final class UserImportReader {
+
+    private static final List<String> CSV_COLUMNS = List.of("username", "fullname", "password", "email", "phone", "age");
+
+    private final UserExportFormat format;
+    private final BufferedReader reader;
+    private final ObjectReader jsonReader;
+    private Map<String, Integer> csvColumns;
+    private long line;
+    private long recordLine;
+    private boolean unterminated;
+
+    UserImportReader(final UserExportFormat format, final InputStream inputStream, final ObjectMapper objectMapper) {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.jsonReader = objectMapper.readerFor(UserRequest.class);
+    }
+
+    /**
+     * A parsed line: the request read from it, or the reason it could not be read.
+     */
+    record Row(long line, UserRequest request, String error) {
+    }
+
+    /**
+     * Reads up to {@code max} non-blank rows.
+     *
+     * @param max the maximum number of rows to read
+     * @return the rows read, empty once the upload is exhausted
+     * @throws IOException              if reading the upload fails
+     * @throws IllegalArgumentException if the CSV header lacks a user request column
+     */
+    List<Row> read(final int max) throws IOException {
+        List<Row> rows = new ArrayList<>(max);
+        while (rows.size() < max) {
+            Row row = format == UserExportFormat.CSV ? nextCsvRow() : nextJsonRow();
+            if (row == null) {
+                break;
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Row nextJsonRow() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (!text.isBlank()) {
+                return parseJson(text);
+            }
+        }
+        return null;
+    }
+
+    private Row nextCsvRow() throws IOException {
+        List<String> fields;
+        while ((fields = readCsvRecord()) != null) {
+            if (fields.size() == 1 && fields.getFirst().isBlank()) {
+                continue;
+            }
+            if (csvColumns == null) {
+                String error = readCsvHeader(fields);
+                if (error != null) {
+                    throw new IllegalArgumentException(error);
+                }
+                continue;
+            }
+            return parseCsv(fields);
+        }
+        return null;
+    }
+
+    private Row parseJson(final String text) {
+        try {
+            UserRequest request = jsonReader.readValue(text);
+            if (request == null) {
+                return new Row(line, null, "Malformed JSON: expected an object");
+            }
+            return new Row(line, request, null);
+        } catch (JsonProcessingException ex) {
+            return new Row(line, null, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private String readCsvHeader(final List<String> names) {
+        if (unterminated) {
+            return "Malformed CSV header";
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                return "CSV header is missing the " + column + " column";
+            }
+        }
+        csvColumns = columns;
+        return null;
+    }
+
+    private Row parseCsv(final List<String> fields) {
+        if (unterminated) {
+            return new Row(recordLine, null, "Malformed CSV: unterminated quoted field");
+        }
+        String age = field(fields, "age");
+        UserRequest request = new UserRequest();
+        request.setUsername(field(fields, "username"));
+        request.setFullName(field(fields, "fullname"));
+        request.setPassword(field(fields, "password"));
+        request.setEmail(field(fields, "email"));
+        request.setPhone(field(fields, "phone"));
+        try {
+            request.setAge(age == null ? 0 : Integer.parseInt(age.trim()));
+        } catch (NumberFormatException ex) {
+            return new Row(recordLine, null, "Invalid age: " + age);
+        }
+        return new Row(recordLine, request, null);
+    }
+
+    private String field(final List<String> fields, final String column) {
+        int index = csvColumns.get(column);
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads the next CSV record, unquoting quoted fields (RFC 4180). A quoted field may contain
+     * separators, quotes and line breaks, so a record may span several lines; it starts at
+     * {@link #recordLine}, and {@link #unterminated} tells whether the upload ended inside a quoted field.
+     *
+     * @return the fields of the record, or null once the upload is exhausted
+     */
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        recordLine = ++line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (; c >= 0; c = reader.read()) {
+            if (quoted) {
+                if (c != '"') {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (peek('"')) {
+                    field.append('"');
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                peek('\n');
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        unterminated = quoted;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Consumes the next character if it is {@code expected}.
+     */
+    private boolean peek(final char expected) throws IOException {
+        reader.mark(1);
+        if (reader.read() == expected) {
+            return true;
+        }
+        reader.reset();
+        return false;
+    }
+}
@@ -0,0 +1,343 @@
+package am.registration.system.demo.service.user.bulkimport;
+
+import am.registration.system.demo.api.response.ApiResponse;
+import am.registration.system.demo.api.response.ApiResponseBuilder;
+import am.registration.system.demo.exception.PasswordHashingUnavailableException;
+import am.registration.system.demo.mapper.RoleMapper;
+import am.registration.system.demo.model.dto.UserImportError;
+import am.registration.system.demo.model.dto.UserImportReport;
+import am.registration.system.demo.model.dto.UserRequest;
+import am.registration.system.demo.model.enums.UserState;
+import am.registration.system.demo.security.password.Argon2Hashing;
+import am.registration.system.demo.service.user.availability.UserAvailabilityService;
+import am.registration.system.demo.service.user.export.UserExportFormat;
+import am.registration.system.demo.service.user.validation.validator.EmailValidator;
+import am.registration.system.demo.service.user.validation.validator.PasswordValidator;
+import am.registration.system.demo.service.user.validation.validator.PhoneValidator;
+import am.registration.system.demo.service.user.validation.validator.UsernameValidator;
+import am.registration.system.demo.util.LogMessages;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service importing users in bulk from an NDJSON or CSV upload.
+ * <p>
+ * The upload is read row by row and processed in chunks of {@code batchSize} rows, so memory
+ * grows with the chunk and the set of keys seen so far, not with the upload. Each chunk is validated
+ * in memory: formats are checked without the per-field existence queries of registration, and
+ * uniqueness is checked against the usernames, emails and phones of the chunk that already exist,
+ * preloaded in at most three queries for the values the availability filters report as probably taken,
+ * and against the rows imported before it. Passwords are then hashed
+ * with Argon2 by at most {@code hashingParallelism} threads, which bounds the share of the hashing
+ * pool an import may take from logins, and the chunk is written in one transaction with a single
+ * JDBC batch into {@code usr} and one insert-select into {@code user_role}.
+ * </p>
+ * <p>
+ * Imported users get the default role and are {@link UserState#ACTIVE}: they were verified by the
+ * partner they come from, and no activation email is sent. Rejected rows do not stop the import;
+ * they are counted and listed in the report with their line and reason. A row that collides with a
+ * user registered concurrently is skipped by {@code on conflict do nothing} and reported as existing.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 16:41:37
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final int HASHING_ATTEMPTS = 3;
+    private static final String INSERT_USER = "insert into registration_db.usr "
+            + "(username, full_name, password, email, phone, age, user_state) "
+            + "values (:username, :fullName, :password, :email, :phone, :age, :userState) on conflict do nothing";
+    private static final String INSERT_USER_ROLES = "insert into registration_db.user_role (user_id, role_id) "
+            + "select u.id, :roleId from registration_db.usr u where u.username in (:usernames)";
+
+    private final RoleMapper roleMapper;
+    private final ObjectMapper objectMapper;
+    private final Argon2Hashing argon2Hashing;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserImportProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExecutorService hashingExecutor;
+
+    UserImportService(RoleMapper roleMapper, ObjectMapper objectMapper, Argon2Hashing argon2Hashing,
+                      UserAvailabilityService userAvailabilityService, UserImportProperties properties,
+                      TransactionTemplate transactionTemplate, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.roleMapper = roleMapper;
+        this.objectMapper = objectMapper;
+        this.argon2Hashing = argon2Hashing;
+        this.userAvailabilityService = userAvailabilityService;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        AtomicInteger threads = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getHashingParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hashing-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    /**
+     * Imports the users of an upload. The stream is read to its end but not closed.
+     *
+     * @param format      the format of the upload
+     * @param inputStream the upload, typically the request body
+     * @return ApiResponseBuilder containing the import report, or a failure if the CSV header is invalid
+     * @throws IOException if reading the upload fails
+     */
+    public ApiResponseBuilder<UserImportReport> importUsers(final UserExportFormat format, final InputStream inputStream) throws IOException {
+        long started = System.nanoTime();
+        Integer roleId = roleMapper.getDefaultRoles().iterator().next().getId();
+        UserImportReader reader = new UserImportReader(format, inputStream, objectMapper);
+        ImportProgress progress = new ImportProgress(properties.getMaxReportedErrors());
+        while (true) {
+            List<UserImportReader.Row> rows;
+            try {
+                rows = reader.read(Math.max(1, properties.getBatchSize()));
+            } catch (IllegalArgumentException ex) {
+                return ApiResponse.failure(ex.getMessage(), String.valueOf(HttpStatus.BAD_REQUEST));
+            }
+            if (rows.isEmpty()) {
+                break;
+            }
+            importChunk(rows, roleId, progress);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        double rowsPerSecond = elapsedMillis == 0 ? progress.received : progress.received * 1000.0 / elapsedMillis;
+        log.info(LogMessages.USER_IMPORT_FINISHED, progress.imported, progress.received, elapsedMillis,
+                Math.round(rowsPerSecond), progress.failed);
+        var report = new UserImportReport(progress.received, progress.imported, progress.failed,
+                List.copyOf(progress.errors), elapsedMillis, rowsPerSecond);
+        return ApiResponse.success(report, LogMessages.SUCCESS_RESPONSE);
+    }
+
+    private void importChunk(final List<UserImportReader.Row> rows, final Integer roleId, final ImportProgress progress) {
+        progress.received += rows.size();
+
+        List<UserImportReader.Row> valid = new ArrayList<>(rows.size());
+        for (UserImportReader.Row row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                progress.reject(row, error);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        List<UserImportReader.Row> unique = selectUnique(valid, progress);
+        if (unique.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<String>> hashes = unique.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> hash(row.request().getPassword()), hashingExecutor))
+                .toList();
+        List<UserImportReader.Row> hashed = new ArrayList<>(unique.size());
+        List<SqlParameterSource> parameters = new ArrayList<>(unique.size());
+        for (int i = 0; i < unique.size(); i++) {
+            UserImportReader.Row row = unique.get(i);
+            try {
+                parameters.add(parameters(row.request(), hashes.get(i).join()));
+                hashed.add(row);
+            } catch (CompletionException ex) {
+                log.warn("Failed to hash the password of import line {}: {}", row.line(), ex.getCause().getMessage());
+                progress.reject(row, ex.getCause() instanceof PasswordHashingUnavailableException
+                        ? LogMessages.PASSWORD_HASHING_UNAVAILABLE : LogMessages.INVALID_PASSWORD);
+            }
+        }
+        if (hashed.isEmpty()) {
+            return;
+        }
+
+        try {
+            int[] counts = transactionTemplate.execute(status -> write(hashed, parameters, roleId));
+            for (int i = 0; i < hashed.size(); i++) {
+                if (counts[i] == 0) {
+                    progress.reject(hashed.get(i), LogMessages.USER_ALREADY_EXISTS);
+                } else {
+                    UserRequest request = hashed.get(i).request();
+                    userAvailabilityService.record(request.getUsername(), request.getEmail(), request.getPhone());
+                    progress.imported++;
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.error("Failed to write a chunk of {} imported users: {}", hashed.size(), ex.getMessage());
+            hashed.forEach(row -> progress.reject(row, "Failed to store the user"));
+        }
+    }
+
+    /**
+     * Checks the formats of a request in memory against the limits of the {@link UserRequest} constraints,
+     * without the existence queries its custom constraints run.
+     *
+     * @return the first violation, or null if the request is valid
+     */
+    private static String validate(final UserRequest request) {
+        String username = request.getUsername();
+        if (!UsernameValidator.hasValidFormat(username)
+                || username.length() < UserRequest.MIN_NAME_LENGTH || username.length() > UserRequest.MAX_NAME_LENGTH) {
+            return LogMessages.INVALID_USERNAME;
+        }
+        String fullName = request.getFullName();
+        if (fullName == null || fullName.length() < UserRequest.MIN_NAME_LENGTH || fullName.length() > UserRequest.MAX_NAME_LENGTH) {
+            return LogMessages.INVALID_FULL_NAME;
+        }
+        String password = request.getPassword();
+        if (!PasswordValidator.hasValidFormat(password)
+                || password.length() < UserRequest.MIN_PASSWORD_LENGTH || password.length() > UserRequest.MAX_PASSWORD_LENGTH) {
+            return LogMessages.INVALID_PASSWORD;
+        }
+        if (!EmailValidator.hasValidFormat(request.getEmail())) {
+            return LogMessages.INVALID_EMAIL;
+        }
+        if (!PhoneValidator.hasValidFormat(request.getPhone())) {
+            return LogMessages.INVALID_PHONE;
+        }
+        if (request.getAge() < UserRequest.MIN_AGE || request.getAge() > UserRequest.MAX_AGE) {
+            return LogMessages.INVALID_AGE;
+        }
+        return null;
+    }
+
+    /**
+     * Keeps the rows whose username, email and phone are neither stored nor used by an earlier row of the import.
+     */
+    private List<UserImportReader.Row> selectUnique(final List<UserImportReader.Row> rows, final ImportProgress progress) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        for (UserImportReader.Row row : rows) {
+            usernames.add(row.request().getUsername());
+            emails.add(row.request().getEmail());
+            phones.add(row.request().getPhone());
+        }
+        Set<String> existingUsernames = userAvailabilityService.findTakenUsernames(usernames);
+        Set<String> existingEmails = userAvailabilityService.findTakenEmails(emails);
+        Set<String> existingPhones = userAvailabilityService.findTakenPhones(phones);
+
+        List<UserImportReader.Row> unique = new ArrayList<>(rows.size());
+        for (UserImportReader.Row row : rows) {
+            UserRequest request = row.request();
+            if (existingUsernames.contains(request.getUsername()) || progress.usernames.contains(request.getUsername())) {
+                progress.reject(row, LogMessages.USERNAME_IN_USE);
+            } else if (existingEmails.contains(request.getEmail()) || progress.emails.contains(request.getEmail())) {
+                progress.reject(row, LogMessages.EMAIL_IN_USE);
+            } else if (existingPhones.contains(request.getPhone()) || progress.phones.contains(request.getPhone())) {
+                progress.reject(row, LogMessages.PHONE_IN_USE);
+            } else {
+                progress.usernames.add(request.getUsername());
+                progress.emails.add(request.getEmail());
+                progress.phones.add(request.getPhone());
+                unique.add(row);
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Hashes a password, retrying when the hashing pool is saturated by logins.
+     */
+    private String hash(final String password) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return argon2Hashing.encode(password);
+            } catch (PasswordHashingUnavailableException ex) {
+                if (attempt == HASHING_ATTEMPTS) {
+                    throw ex;
+                }
+                try {
+                    TimeUnit.SECONDS.sleep(Math.max(1, ex.getRetryAfterSeconds()));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private int[] write(final List<UserImportReader.Row> rows, final List<SqlParameterSource> parameters, final Integer roleId) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_USER, parameters.toArray(SqlParameterSource[]::new));
+        List<String> inserted = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts[i] != 0) {
+                inserted.add(rows.get(i).request().getUsername());
+            }
+        }
+        if (!inserted.isEmpty()) {
+            jdbcTemplate.update(INSERT_USER_ROLES, Map.of("roleId", roleId, "usernames", inserted));
+        }
+        return counts;
+    }
+
+    private static SqlParameterSource parameters(final UserRequest request, final String encodedPassword) {
+        return new MapSqlParameterSource()
+                .addValue("username", request.getUsername())
+                .addValue("fullName", request.getFullName())
+                .addValue("password", encodedPassword)
+                .addValue("email", request.getEmail())
+                .addValue("phone", request.getPhone())
+                .addValue("age", request.getAge())
+                .addValue("userState", UserState.ACTIVE.name());
+    }
+
+    /**
+     * The counters, reported errors and imported keys of one import.
+     */
+    private static final class ImportProgress {
+        private final int maxReportedErrors;
+        private final List<UserImportError> errors = new ArrayList<>();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> phones = new HashSet<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void reject(UserImportReader.Row row, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                String username = row.request() == null ? null : row.request().getUsername();
+                errors.add(new UserImportError(row.line(), username, message));
+            }
+        }
+    }
+}
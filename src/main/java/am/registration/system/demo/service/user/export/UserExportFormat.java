@@ -0,0 +1,21 @@
+package am.registration.system.demo.service.user.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The formats users can be exported and imported in, with their media type and file extension.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 15:48:26
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UserExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+}
@@ -0,0 +1,24 @@
+package am.registration.system.demo.service.user.export;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties of the user export, under the prefix {@code application.userExport}:
+ * the number of rows fetched from the database cursor at a time, and how many milliseconds one
+ * export request may stream before it is timed out.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 19:51:37
+ */
+@Getter
+@Component
+public class UserExportProperties {
+
+    @Value("${application.userExport.fetchSize:1000}")
+    private int fetchSize;
+    @Value("${application.userExport.timeout:3600000}")
+    private long timeout;
+}
@@ -0,0 +1,143 @@
+package am.registration.system.demo.service.user.export;
+
+import am.registration.system.demo.model.dto.UserResponse;
+import am.registration.system.demo.model.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service streaming all users into an output stream as NDJSON or CSV.
+ * <p>
+ * Users are read through a database cursor, one {@code application.userExport.fetchSize} chunk at a time, and each row is written
+ * field by field as soon as it is read; neither the list of users nor the entities are ever held
+ * in memory, so an export of the whole table uses as much memory as an export of one row.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 15:53:12
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+
+    private static final String CSV_HEADER = "id,created_date,updated_date,username,full_name,email,phone,age,user_state";
+
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final UserExportProperties properties;
+
+    /**
+     * Writes all users, ordered by ID, to the output stream. The stream is flushed but not closed.
+     *
+     * @param format       the export format
+     * @param outputStream the stream to write to, typically the response body
+     * @return the number of users written
+     * @throws IOException if writing fails, for example because the client disconnected
+     */
+    @Transactional(readOnly = true)
+    public long export(final UserExportFormat format, final OutputStream outputStream) throws IOException {
+        long started = System.nanoTime();
+        long rows;
+        try (Stream<UserResponse> users = userRepository.streamAllForExport(properties.getFetchSize())) {
+            rows = switch (format) {
+                case NDJSON -> writeNdjson(users.iterator(), outputStream);
+                case CSV -> writeCsv(users.iterator(), outputStream);
+            };
+        }
+        log.info("Exported {} users as {} in {} ms", rows, format, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private long writeNdjson(final Iterator<UserResponse> users, final OutputStream outputStream) throws IOException {
+        long rows = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        while (users.hasNext()) {
+            UserResponse user = users.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", user.getId());
+            generator.writeStringField("createdDate", format(user.getCreatedDate()));
+            generator.writeStringField("updatedDate", format(user.getUpdatedDate()));
+            generator.writeStringField("username", user.getUsername());
+            generator.writeStringField("fullName", user.getFullName());
+            generator.writeStringField("email", user.getEmail());
+            generator.writeStringField("phone", user.getPhone());
+            generator.writeNumberField("age", user.getAge());
+            generator.writeStringField("userState", user.getUserState() == null ? null : user.getUserState().name());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            rows++;
+        }
+        generator.close();
+        outputStream.flush();
+        return rows;
+    }
+
+    private long writeCsv(final Iterator<UserResponse> users, final OutputStream outputStream) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (users.hasNext()) {
+            UserResponse user = users.next();
+            writer.write(String.valueOf(user.getId()));
+            writer.write(',');
+            writeCsvValue(writer, format(user.getCreatedDate()));
+            writer.write(',');
+            writeCsvValue(writer, format(user.getUpdatedDate()));
+            writer.write(',');
+            writeCsvValue(writer, user.getUsername());
+            writer.write(',');
+            writeCsvValue(writer, user.getFullName());
+            writer.write(',');
+            writeCsvValue(writer, user.getEmail());
+            writer.write(',');
+            writeCsvValue(writer, user.getPhone());
+            writer.write(',');
+            writer.write(String.valueOf(user.getAge()));
+            writer.write(',');
+            writer.write(user.getUserState() == null ? "" : user.getUserState().name());
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    /**
+     * Writes a CSV field, quoting it when it contains a separator, quote or line break (RFC 4180).
+     */
+    private static void writeCsvValue(final Writer writer, final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String format(final Date date) {
+        return date == null ? null : date.toInstant().toString();
+    }
+}
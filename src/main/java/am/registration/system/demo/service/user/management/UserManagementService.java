@@ -3,10 +3,14 @@ package am.registration.system.demo.service.user.management;
 import am.registration.system.demo.api.response.ApiResponse;
 import am.registration.system.demo.api.response.ApiResponseBuilder;
 import am.registration.system.demo.mapper.UserMapper;
+import am.registration.system.demo.model.dto.UserFilter;
+import am.registration.system.demo.model.dto.UserPageResponse;
 import am.registration.system.demo.model.dto.UserResponse;
 import am.registration.system.demo.model.repository.UserRepository;
+import am.registration.system.demo.model.repository.UserSpecifications;
 import am.registration.system.demo.util.LogMessages;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,29 +33,41 @@ public class UserManagementService {
     private final UserRepository userRepository;
 
     /**
-     * Checks if the given user ID and username correspond to the current user.
+     * Retrieves one page of the registered users matching the filter, ordered by ID.
+     * Pages are addressed by the ID of the last user of the previous page (keyset pagination),
+     * so every page costs the same regardless of how deep into the table it is.
+     * A creation date range is first resolved to the IDs of its first and last user, which bound the
+     * walk; ids are assigned in creation order, and the dates are still checked on every row.
+     * When no user matches, the result is a successful empty page; unlike the former unpaginated
+     * listing, it no longer fails with {@code NOT_FOUND}.
      *
-     * @param userId   the ID of the user
-     * @param username the username to verify
-     * @return true if the current user matches the given ID and username, false otherwise
+     * @param filter the optional user state, role and creation date filters
+     * @param after  the cursor returned with the previous page, or null for the first page
+     * @param size   the maximum number of users on the page
+     * @return ApiResponseBuilder containing the page and the cursor of the next one
      */
-    public boolean isCurrentUser(final Integer userId, final String username) {
-        // ToDo: fix this method to return current logged in user data, it is desirable to return data from JWT token
-        ApiResponseBuilder<UserResponse> user = getUserById(userId);
-        return user != null && (user.data().getUsername().equals(username));
-    }
-
-    /**
-     * Retrieves all registered users.
-     *
-     * @return ApiResponseBuilder containing a list of user responses
-     */
-    public ApiResponseBuilder<List<UserResponse>> getAllUsers() {
-        var users = userRepository.findAll();
-        if (users.isEmpty()) {
-            return ApiResponse.failure(LogMessages.NO_USER_FOUND, String.valueOf(HttpStatus.NOT_FOUND));
+    @Transactional(readOnly = true)
+    public ApiResponseBuilder<UserPageResponse> getUsers(final UserFilter filter, final Integer after, final int size) {
+        Integer fromId = null;
+        Integer toId = null;
+        if (filter.createdFrom() != null) {
+            fromId = userRepository.findFirstIdCreatedFrom(filter.createdFrom()).orElse(null);
+            if (fromId == null) {
+                return emptyPage();
+            }
+        }
+        if (filter.createdTo() != null) {
+            toId = userRepository.findLastIdCreatedBefore(filter.createdTo()).orElse(null);
+            if (toId == null) {
+                return emptyPage();
+            }
         }
-        var response = userMapper.mapFromEntityListToResponseList(users);
+        var users = userRepository.findBy(UserSpecifications.page(filter, after, fromId, toId),
+                query -> query.sortBy(Sort.by("id")).limit(size + 1).all());
+        var hasNext = users.size() > size;
+        var page = hasNext ? users.subList(0, size) : users;
+        var nextCursor = hasNext ? page.getLast().getId() : null;
+        var response = new UserPageResponse(userMapper.mapFromEntityListToResponseList(page), nextCursor);
         return ApiResponse.success(response, LogMessages.SUCCESS_RESPONSE);
     }
 
@@ -122,4 +138,8 @@ public class UserManagementService {
         userRepository.deleteById(Long.valueOf(id));
         return ApiResponse.success(LogMessages.DELETED);
     }
-}
\ No newline at end of file
+
+    private static ApiResponseBuilder<UserPageResponse> emptyPage() {
+        return ApiResponse.success(new UserPageResponse(List.of(), null), LogMessages.SUCCESS_RESPONSE);
+    }
+}
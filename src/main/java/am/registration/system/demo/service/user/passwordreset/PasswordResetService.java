@@ -4,6 +4,7 @@ import am.registration.system.demo.api.response.ApiResponseBuilder;
 import am.registration.system.demo.model.dto.PasswordResetRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service responsible for handling password reset operations, including
@@ -32,10 +33,12 @@ public class PasswordResetService {
 
     /**
      * Sends a password reset email to the specified email address.
+     * The reset token and the queued email are stored in one transaction.
      *
      * @param email the email address to send the password reset link to
      * @return an ApiResponseBuilder containing the result of the email sending operation
      */
+    @Transactional
     public ApiResponseBuilder<String> sendPasswordResetEmail(final String email) {
         return passwordResetEmailSender.sendPasswordResetEmail(email);
     }
@@ -72,7 +72,7 @@ public class TokenValidatorService {
      * @return true if the token is invalid, false otherwise
      */
     private boolean isTokenInvalid(UserToken token) {
-        return token.getToken() == null ||
+        return token.getTokenDigest() == null ||
                 token.getExpireDate().toInstant().isBefore(Instant.from(Instant.now())) ||
                 token.getTokenState() != TokenState.PENDING;
     }
@@ -1,6 +1,6 @@
 package am.registration.system.demo.service.user.validation.validator;
 
-import am.registration.system.demo.model.repository.UserRepository;
+import am.registration.system.demo.service.user.availability.UserAvailabilityService;
 import am.registration.system.demo.service.user.validation.annotation.ValidEmail;
 import am.registration.system.demo.util.LogMessages;
 import jakarta.validation.ConstraintValidator;
@@ -26,7 +26,7 @@ import java.util.regex.Pattern;
 public class EmailValidator implements ConstraintValidator<ValidEmail, String> {
 
     private static final Logger log = LoggerFactory.getLogger(EmailValidator.class);
-    private final UserRepository userRepository;
+    private final UserAvailabilityService userAvailabilityService;
 
     private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}$";
     private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
@@ -54,7 +54,7 @@ public class EmailValidator implements ConstraintValidator<ValidEmail, String> {
             return false;
         }
 
-        if (userRepository.existsByEmail(email)) {
+        if (userAvailabilityService.isEmailTaken(email)) {
             log.error(LogMessages.USED_EMAIL, email);
             context.disableDefaultConstraintViolation();
             context.buildConstraintViolationWithTemplate(LogMessages.USED_EMAIL).addConstraintViolation();
@@ -62,4 +62,14 @@ public class EmailValidator implements ConstraintValidator<ValidEmail, String> {
         }
         return true;
     }
+
+    /**
+     * Checks the format of an email address only, without checking whether it is in use.
+     *
+     * @param email the email address to check
+     * @return true if the email is non-blank and well-formed
+     */
+    public static boolean hasValidFormat(String email) {
+        return email != null && !email.trim().isEmpty() && EMAIL_PATTERN.matcher(email).matches();
+    }
 }
\ No newline at end of file
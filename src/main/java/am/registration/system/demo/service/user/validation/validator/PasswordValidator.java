@@ -58,4 +58,14 @@ public class PasswordValidator implements ConstraintValidator<ValidPassword, Str
         }
         return true;
     }
+
+    /**
+     * Checks the password against the security criteria, without logging or building constraint violations.
+     *
+     * @param password the password to check
+     * @return true if the password meets the required format
+     */
+    public static boolean hasValidFormat(String password) {
+        return password != null && PASSWORD_PATTERN.matcher(password).matches();
+    }
 }
\ No newline at end of file
@@ -59,4 +59,14 @@ public class PhoneValidator implements ConstraintValidator<ValidPhone, String> {
         }
         return true;
     }
+
+    /**
+     * Checks the length and format of a phone number, without logging or building constraint violations.
+     *
+     * @param number the phone number to check
+     * @return true if the phone number is non-blank and well-formed
+     */
+    public static boolean hasValidFormat(String number) {
+        return number != null && number.length() >= 9 && number.length() <= 12 && PHONE_PATTERN.matcher(number).matches();
+    }
 }
\ No newline at end of file
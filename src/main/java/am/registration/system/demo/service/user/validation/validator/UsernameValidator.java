@@ -1,6 +1,6 @@
 package am.registration.system.demo.service.user.validation.validator;
 
-import am.registration.system.demo.model.repository.UserRepository;
+import am.registration.system.demo.service.user.availability.UserAvailabilityService;
 import am.registration.system.demo.service.user.validation.annotation.ValidUsername;
 import am.registration.system.demo.util.LogMessages;
 import jakarta.validation.ConstraintValidator;
@@ -25,7 +25,7 @@ import org.springframework.stereotype.Component;
 public class UsernameValidator implements ConstraintValidator<ValidUsername, String> {
 
     private static final Logger log = LoggerFactory.getLogger(UsernameValidator.class);
-    private final UserRepository userRepository;
+    private final UserAvailabilityService userAvailabilityService;
 
     /**
      * Validates the given username according to length and uniqueness criteria.
@@ -50,7 +50,7 @@ public class UsernameValidator implements ConstraintValidator<ValidUsername, Str
             return false;
         }
 
-        if (userRepository.existsByUsername(username)) {
+        if (userAvailabilityService.isUsernameTaken(username)) {
             log.error(LogMessages.USED_USERNAME, username);
             context.disableDefaultConstraintViolation();
             context.buildConstraintViolationWithTemplate(LogMessages.USED_USERNAME).addConstraintViolation();
@@ -58,4 +58,14 @@ public class UsernameValidator implements ConstraintValidator<ValidUsername, Str
         }
         return true;
     }
+
+    /**
+     * Checks the length of a username only, without checking whether it is in use.
+     *
+     * @param username the username to check
+     * @return true if the username is non-blank and between 5 and 20 characters
+     */
+    public static boolean hasValidFormat(String username) {
+        return username != null && !username.trim().isEmpty() && username.length() >= 5 && username.length() <= 20;
+    }
 }
\ No newline at end of file
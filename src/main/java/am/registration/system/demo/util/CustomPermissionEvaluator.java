@@ -1,37 +1,39 @@
 package am.registration.system.demo.util;
 
-import am.registration.system.demo.service.user.management.UserManagementService;
-import lombok.AllArgsConstructor;
-import lombok.NoArgsConstructor;
+import am.registration.system.demo.model.dto.UserPrincipal;
+import am.registration.system.demo.model.enums.Permissions;
+import am.registration.system.demo.security.rbac.PermissionMask;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.OptionalLong;
 
 /**
  * A custom implementation of the {@link PermissionEvaluator} interface that determines whether
  * a user has a specific permission for a given domain object. This class integrates with Spring Security
  * to perform fine-grained access control.
  * *
+ * <p>Both overloads decide from the authenticated {@link UserPrincipal} alone: the target user ID must be
+ * the principal's own ID, and the principal's permission mask must hold every requested permission.
+ * No user or role is loaded, so an authorization check costs no I/O.</p>
+ * *
+ * * Permissions:
+ * - A {@link Permissions} constant, or a comma-separated list of permission names, all of which are required.
+ * - A blank permission requires ownership only; an unknown permission name is never granted.
+ * *
  * * Annotations:
  * - @Component: Marks this class as a Spring bean, allowing it to be injected and managed by the Spring context.
- * - @NoArgsConstructor: Generates a no-arguments constructor using Lombok.
- * - @AllArgsConstructor: Generates an all-arguments constructor using Lombok.
- * *
- * * Dependencies:
- * - UserManagementService: Used to verify whether the current authenticated user has access to the target domain object.
  * *
  * Author: Artyom Aroyan
  * Date: 25.02.25
  * Time: 01:08:01
  */
 @Component
-@NoArgsConstructor
-@AllArgsConstructor
 public class CustomPermissionEvaluator implements PermissionEvaluator {
 
-    private UserManagementService userManagementService;
+    private static final String USER_TARGET_TYPE = "USER";
 
     /**
      * Evaluates whether the given authentication has permission to access the specified domain object.
@@ -39,30 +41,79 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
      *
      * @param authentication The authentication object representing the current user.
      * @param targetDomainObject The domain object ID (should be an integer representing the user ID).
-     * @param permission The required permission (not used in this implementation).
-     * @return {@code true} if the authenticated user has permission to access the object, {@code false} otherwise.
+     * @param permission The required permission or comma-separated permissions.
+     * @return {@code true} if the authenticated user owns the object and holds the permission, {@code false} otherwise.
      */
     @Override
     public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
-        if (authentication == null || !(targetDomainObject instanceof Integer userId)) {
+        if (!(targetDomainObject instanceof Integer userId)) {
             return false;
         }
-        final String username = authentication.getName();
-        return userManagementService.isCurrentUser(userId, username);
+        return isOwnerWithPermission(authentication, userId, permission);
     }
 
     /**
-     * This method is not implemented and always returns {@code false}.
-     * Typically used for evaluating permissions when the target domain object is represented by an ID and type.
+     * Evaluates whether the given authentication has permission to access the domain object identified
+     * by its ID and type. Only the {@code USER} type is supported, whose ID is the user ID.
      *
      * @param authentication The authentication object representing the current user.
      * @param targetId The ID of the target domain object.
-     * @param targetType The type of the target domain object (not used in this implementation).
-     * @param permission The required permission (not used in this implementation).
-     * @return {@code false}, as this method is not implemented.
+     * @param targetType The type of the target domain object, {@code USER}.
+     * @param permission The required permission or comma-separated permissions.
+     * @return {@code true} if the authenticated user owns the object and holds the permission, {@code false} otherwise.
      */
     @Override
     public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
-        return false;
+        if (!USER_TARGET_TYPE.equalsIgnoreCase(targetType) || !(targetId instanceof Integer userId)) {
+            return false;
+        }
+        return isOwnerWithPermission(authentication, userId, permission);
+    }
+
+    /**
+     * Checks that the authenticated principal is the target user and holds the required permissions.
+     *
+     * @param authentication the current authentication
+     * @param userId         the ID of the target user
+     * @param permission     the required permission or permissions
+     * @return true if both hold
+     */
+    private boolean isOwnerWithPermission(Authentication authentication, Integer userId, Object permission) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return false;
+        }
+        if (!userId.equals(principal.getId())) {
+            return false;
+        }
+        OptionalLong required = requiredMask(permission);
+        return required.isPresent() && PermissionMask.containsAll(principal.getPermissionMask(), required.getAsLong());
+    }
+
+    /**
+     * Converts the permission argument of an expression into the mask of the required permissions.
+     *
+     * @param permission a {@link Permissions} constant, a comma-separated list of names, or null
+     * @return the required mask, or empty if the argument names an unknown permission
+     */
+    private OptionalLong requiredMask(Object permission) {
+        if (permission == null) {
+            return OptionalLong.of(PermissionMask.NONE);
+        }
+        if (permission instanceof Permissions required) {
+            return OptionalLong.of(PermissionMask.of(required));
+        }
+        long mask = PermissionMask.NONE;
+        for (String name : permission.toString().split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                mask |= PermissionMask.of(Permissions.valueOf(trimmed));
+            } catch (IllegalArgumentException ex) {
+                return OptionalLong.empty();
+            }
+        }
+        return OptionalLong.of(mask);
     }
-}
\ No newline at end of file
+}
@@ -42,7 +42,7 @@ public class LogMessages {
     public static final String PASSWORD_RESET_SUCCESS = "Your password has been successfully reset:";
     public static final String GENERATE_NEW_TOKEN = "Generating new token for user: {}";
     public static final String START_SCHEDULE = "Running scheduled task to update expired tokens...";
-    public static final String FINISH_SCHEDULE = "Finished scheduled task. {} tokens marked as FORCIBLY_EXPIRED";
+    public static final String FINISH_SCHEDULE = "Finished scheduled task. {} tokens marked as FORCIBLY_EXPIRED in {} ms ({} rows/s); {} left to expire";
     public static final String DELETED = "Your account was successfully deleted";
     public static final String USER_TOKEN_NOT_FOUND = "User token was not found";
     public static final String INVALID_TOKEN_PURPOSE = "Token verification failed: Invalid purpose";
@@ -52,4 +52,12 @@ public class LogMessages {
     public static final String INVALID_TOKEN_SIGNATURE = "Invalid signature or malformed token: {}";
     public static final String UNSUPPORTED_TOKEN = "Unsupported token: {}";
     public static final String EMPTY_TOKEN = "Token can not be empty:";
+    public static final String INVALID_FULL_NAME = "Full name must be between 5 and 20 characters";
+    public static final String INVALID_AGE = "Age must be between 18 and 99";
+    public static final String USERNAME_IN_USE = "Username is already in use";
+    public static final String EMAIL_IN_USE = "Email is already in use";
+    public static final String PHONE_IN_USE = "Phone number is already in use";
+    public static final String USER_ALREADY_EXISTS = "A user with this username, email or phone number already exists";
+    public static final String PASSWORD_HASHING_UNAVAILABLE = "Password hashing is unavailable";
+    public static final String USER_IMPORT_FINISHED = "Imported {} of {} users in {} ms ({} rows/s), {} rejected";
 }
\ No newline at end of file
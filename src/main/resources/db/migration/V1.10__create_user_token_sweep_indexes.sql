@@ -0,0 +1,5 @@
+-- The sweeper expires pending tokens in order of their expiration date
+create index if not exists idx_user_token_pending_expire_date on registration_db.user_token (expire_date) where token_state = 'PENDING';
+
+-- and purges the other tokens once they are past the retention period
+create index if not exists idx_user_token_closed_expire_date on registration_db.user_token (expire_date) where token_state <> 'PENDING';
@@ -0,0 +1,57 @@
+-- user_token is range partitioned by expire_date into weekly partitions named user_token_pYYYYMMDD after the
+-- Monday they start on. Old tokens are removed by dropping whole partitions, and UserTokenPartitionManager keeps
+-- creating the coming weeks' partitions. A primary key or unique index of a partitioned table must include
+-- the partition key, hence (id, expire_date) and (token_digest, expire_date).
+alter table registration_db.user_token rename to user_token_legacy;
+
+-- Free the names the new table takes: the identity sequence user_token_id_seq, dropped with the identity,
+-- and the indexes user_token_pkey and user_token_id_key, index names being unique within the schema
+alter table registration_db.user_token_legacy alter column id drop identity;
+alter table registration_db.user_token_legacy drop constraint if exists user_token_pkey;
+alter table registration_db.user_token_legacy drop constraint if exists user_token_id_key;
+
+create sequence registration_db.user_token_id_seq as integer;
+
+create table registration_db.user_token (
+    id integer not null default nextval('registration_db.user_token_id_seq') ,
+    user_id integer not null references registration_db.usr ,
+    created_date timestamp not null default current_timestamp ,
+    updated_date timestamp not null default current_timestamp ,
+    expire_date timestamp not null ,
+    token_purpose varchar(50) not null ,
+    token_state varchar(50) not null ,
+    token_digest bytea not null ,
+    constraint chk_user_token_digest_length check (octet_length(token_digest) = 32) ,
+    primary key (id, expire_date)
+) partition by range (expire_date);
+
+alter sequence registration_db.user_token_id_seq owned by registration_db.user_token.id;
+
+-- One partition per week, from the week of the oldest stored token to four weeks ahead
+do $$
+declare
+    week_start timestamp := date_trunc('week', coalesce((select min(expire_date) from registration_db.user_token_legacy), current_timestamp));
+    last_week timestamp := date_trunc('week', current_timestamp) + interval '4 weeks';
+begin
+    while week_start <= last_week loop
+        execute format('create table if not exists registration_db.%I partition of registration_db.user_token for values from (%L) to (%L)',
+                       'user_token_p' || to_char(week_start, 'YYYYMMDD'), week_start, week_start + interval '1 week');
+        week_start := week_start + interval '1 week';
+    end loop;
+end $$;
+
+-- Catches tokens beyond the created weeks; stays empty as long as partitions are created ahead
+create table if not exists registration_db.user_token_default partition of registration_db.user_token default;
+
+insert into registration_db.user_token (id, user_id, created_date, updated_date, expire_date, token_purpose, token_state, token_digest)
+select id, user_id, created_date, updated_date, expire_date, token_purpose, token_state, token_digest
+from registration_db.user_token_legacy;
+
+select setval(pg_get_serial_sequence('registration_db.user_token', 'id'), coalesce((select max(id) from registration_db.user_token), 0) + 1, false);
+
+drop table registration_db.user_token_legacy;
+
+-- Created on every partition; index names are free again now that the legacy table is gone.
+-- The digest is unique per partition only; UserTokenService does not store a digest twice.
+create unique index if not exists idx_user_token_token_digest on registration_db.user_token (token_digest, expire_date);
+create index if not exists idx_user_token_pending_expire_date on registration_db.user_token (expire_date) where token_state = 'PENDING';
@@ -0,0 +1,10 @@
+-- Keyset pagination of the user listing walks usr by id; these indexes serve its optional filters.
+-- Filter by state, then continue after the cursor id
+create index if not exists idx_usr_user_state_id on registration_db.usr (user_state, id);
+
+-- Filter by creation date range: the range is first resolved to the ids of its first and last user,
+-- each one row read from this index; the page then walks the primary key between those ids
+create index if not exists idx_usr_created_date_id on registration_db.usr (created_date, id);
+
+-- Filter by role: the primary key (user_id, role_id) cannot be searched by role
+create index if not exists idx_user_role_role_id_user_id on registration_db.user_role (role_id, user_id);
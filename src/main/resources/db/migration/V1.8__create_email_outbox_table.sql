@@ -0,0 +1,19 @@
+create table if not exists registration_db.email_outbox (
+    id integer not null unique generated by default as identity primary key ,
+    created_date timestamp not null default current_timestamp ,
+    updated_date timestamp not null default current_timestamp ,
+    recipient varchar(320) not null ,
+    subject varchar(255) not null ,
+    content text not null ,
+    state varchar(20) not null ,
+    attempts integer not null default 0 ,
+    next_attempt_at timestamp not null default current_timestamp ,
+    sent_date timestamp ,
+    last_error varchar(1000)
+);
+
+-- The dispatcher claims due pending messages in order of their next attempt
+create index if not exists idx_email_outbox_pending on registration_db.email_outbox (next_attempt_at) where state = 'PENDING';
+
+-- Sent messages are purged after the retention period
+create index if not exists idx_email_outbox_sent on registration_db.email_outbox (sent_date) where state = 'SENT';
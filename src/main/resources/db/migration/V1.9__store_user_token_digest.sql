@@ -0,0 +1,13 @@
+-- Tokens are looked up by the SHA-256 digest of the value sent by email; the value itself is not stored.
+alter table registration_db.user_token add column if not exists token_digest bytea;
+
+-- Tokens issued before this migration stay valid: their digest is taken over the stored JWT
+update registration_db.user_token set token_digest = sha256(convert_to(token, 'UTF8')) where token_digest is null;
+
+alter table registration_db.user_token alter column token_digest set not null;
+alter table registration_db.user_token add constraint chk_user_token_digest_length check (octet_length(token_digest) = 32);
+
+-- A 32-byte key instead of an up to 800 character one
+create unique index if not exists idx_user_token_token_digest on registration_db.user_token (token_digest);
+
+alter table registration_db.user_token drop column if exists token;
@@ -0,0 +1,134 @@
+package am.registration.system.demo.email;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailMessage;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delivers batches through the pooled transports to an in-process GreenMail SMTP server, and checks
+ * that every message arrives while the handshakes stay at one per connection until it is recycled.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 18:52:06
+ */
+class MailDeliveryEngineTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("sender@example.com", "sender", "secret"));
+
+    private MailDeliveryEngine engine;
+
+    @AfterEach
+    void shutdownEngine() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void deliversBatchWithOneHandshakePerConnection() {
+        engine = engine(2, 100);
+
+        List<Exception> failures = engine.deliver(messages(20));
+
+        assertThat(failures).hasSize(20).containsOnlyNulls();
+        assertThat(greenMail.getReceivedMessages()).hasSize(20);
+        MailDeliveryStatistics statistics = engine.getStatistics();
+        assertThat(statistics.sent()).isEqualTo(20);
+        assertThat(statistics.handshakes()).isEqualTo(2);
+        assertThat(statistics.openConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void reusesConnectionsAcrossBatches() {
+        engine = engine(1, 100);
+
+        engine.deliver(messages(5));
+        engine.deliver(messages(5));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(10);
+        assertThat(engine.getStatistics().handshakes()).isEqualTo(1);
+        assertThat(engine.getStatistics().messagesPerHandshake()).isEqualTo(10.0);
+    }
+
+    @Test
+    void recyclesConnectionAfterMessageLimit() {
+        engine = engine(1, 4);
+
+        List<Exception> failures = engine.deliver(messages(10));
+
+        assertThat(failures).containsOnlyNulls();
+        assertThat(greenMail.getReceivedMessages()).hasSize(10);
+        assertThat(engine.getStatistics().handshakes()).isEqualTo(3);
+        assertThat(engine.getStatistics().recycled()).isEqualTo(2);
+    }
+
+    @Test
+    void reconnectsAfterServerDropsConnection() {
+        engine = engine(1, 100);
+        engine.deliver(messages(3));
+
+        greenMail.reset();
+        List<Exception> failures = engine.deliver(messages(3));
+
+        assertThat(failures).containsOnlyNulls();
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(engine.getStatistics().handshakes()).isEqualTo(2);
+    }
+
+    @Test
+    void reportsMessagesAfterCrashedWorkerAsNotSent() {
+        engine = engine(1, 100);
+        List<SimpleMailMessage> batch = new ArrayList<>(messages(3));
+        batch.set(1, new SimpleMailMessage(batch.get(1)) {
+            @Override
+            public void copyTo(MailMessage target) {
+                throw new AssertionError("worker crashed");
+            }
+        });
+
+        List<Exception> failures = engine.deliver(batch);
+
+        assertThat(failures.get(0)).isNull();
+        assertThat(failures.get(1)).isNotNull();
+        assertThat(failures.get(2)).isNotNull();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    private static MailDeliveryEngine engine(int poolSize, int maxMessagesPerConnection) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.setUsername("sender");
+        mailSender.setPassword("secret");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "true");
+        return new MailDeliveryEngine(mailSender, new MailDeliveryProperties(poolSize, 300, maxMessagesPerConnection));
+    }
+
+    private static List<SimpleMailMessage> messages(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    SimpleMailMessage message = new SimpleMailMessage();
+                    message.setFrom("sender@example.com");
+                    message.setTo("user" + i + "@example.com");
+                    message.setSubject("Verify your email " + i);
+                    message.setText("https://example.com/verify/" + i);
+                    return message;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,132 @@
+package am.registration.system.demo.model.repository;
+
+import am.registration.system.demo.model.entity.Permission;
+import am.registration.system.demo.model.entity.Role;
+import am.registration.system.demo.model.entity.User;
+import am.registration.system.demo.model.enums.Permissions;
+import am.registration.system.demo.model.enums.Roles;
+import am.registration.system.demo.model.enums.UserState;
+import am.registration.system.demo.security.rbac.RbacSnapshotService;
+import am.registration.system.demo.service.user.CustomUserDetails;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the statements Hibernate prepares for the user lookups, so that authentication keeps loading
+ * a user with its roles, and without their permissions, in one round trip, and list reads keep initializing the
+ * associations in batches rather than once per user.
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 13:07:44
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:registration;MODE=PostgreSQL;INIT=CREATE SCHEMA IF NOT EXISTS registration_db",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CustomUserDetails.class)
+class UserRepositoryQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CustomUserDetails customUserDetails;
+    @MockitoBean
+    private RbacSnapshotService rbacSnapshotService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Permission viewContent = new Permission(Permissions.VIEW_PUBLIC_CONTENT);
+        Permission updateProfile = new Permission(Permissions.UPDATE_PROFILE);
+        Permission moderateUsers = new Permission(Permissions.MODERATE_USERS);
+        Role user = new Role(Roles.USER, new HashSet<>(Set.of(viewContent, updateProfile)));
+        Role manager = new Role(Roles.MANAGER, new HashSet<>(Set.of(viewContent, moderateUsers)));
+
+        entityManager.persist(user("alice", Set.of(user, manager)));
+        entityManager.persist(user("bob", Set.of(user)));
+        entityManager.persist(user("carol", Set.of(manager)));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findWithRolesByUsernameUsesOneStatement() {
+        User user = userRepository.findWithRolesByUsername("alice").orElseThrow();
+
+        Set<Roles> roles = user.getRoles().stream()
+                .map(Role::getRoles)
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of(Roles.USER, Roles.MANAGER), roles);
+        assertFalse(user.getRoles().stream().anyMatch(role -> Hibernate.isInitialized(role.getPermissions())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void loadUserByUsernameUsesOneStatement() {
+        UserDetails userDetails = customUserDetails.loadUserByUsername("alice");
+
+        Set<String> authorities = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of("ROLE_USER", "ROLE_MANAGER"), authorities);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllInitializesRolesAndPermissionsInBatches() {
+        List<User> users = userRepository.findAll();
+
+        long permissions = users.stream()
+                .flatMap(user -> user.getRoles().stream())
+                .mapToLong(role -> role.getPermissions().size())
+                .sum();
+
+        assertEquals(3, users.size());
+        assertTrue(permissions > 0);
+        // One statement for the users, one for the roles of all users and one for the permissions of all roles
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private static User user(String username, Set<Role> roles) {
+        return new User(username, username, "encoded-password", username + "@example.com",
+                "+37400000000", 30, UserState.ACTIVE, new HashSet<>(roles), new HashSet<>());
+    }
+}
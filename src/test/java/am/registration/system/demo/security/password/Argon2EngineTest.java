@@ -0,0 +1,180 @@
+package am.registration.system.demo.security.password;
+
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Proves that the Argon2 engine is bit-exact with the BouncyCastle {@link Argon2BytesGenerator}
+ * for every compressor and lane scheduling.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 16:40:18
+ */
+class Argon2EngineTest {
+
+    private static final String[] PASSWORDS = {"", "password", "pässwörd-€", "x".repeat(200)};
+
+    private static ExecutorService laneExecutor;
+
+    @BeforeAll
+    static void startLaneExecutor() {
+        laneExecutor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterAll
+    static void stopLaneExecutor() {
+        laneExecutor.shutdownNow();
+    }
+
+    static Stream<Arguments> parameters() {
+        Random random = new Random(42);
+        List<Arguments> arguments = new ArrayList<>();
+        for (Argon2Type type : Argon2Type.values()) {
+            for (int parallelism : new int[]{1, 2, 4}) {
+                for (int memory : new int[]{8 * parallelism, 257, 1024}) {
+                    for (int hashLength : new int[]{4, 64, 100}) {
+                        int iterations = 1 + random.nextInt(3);
+                        arguments.add(Arguments.of(type, memory, iterations, parallelism, hashLength,
+                                PASSWORDS[random.nextInt(PASSWORDS.length)], randomBytes(random, 16), randomBytes(random, 32)));
+                    }
+                }
+            }
+        }
+        return arguments.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void scalarCompressionMatchesBouncyCastle(Argon2Type type, int memory, int iterations, int parallelism, int hashLength,
+                                              String password, byte[] salt, byte[] secret) {
+        Argon2Engine engine = new Argon2Engine(new Argon2BlockArenaPool(1), null, new ScalarArgon2Compressor());
+        assertMatchesBouncyCastle(engine, type, memory, iterations, parallelism, hashLength, password, salt, secret);
+    }
+
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void vectorCompressionMatchesBouncyCastle(Argon2Type type, int memory, int iterations, int parallelism, int hashLength,
+                                              String password, byte[] salt, byte[] secret) {
+        assumeVectorModule();
+        Argon2Engine engine = new Argon2Engine(new Argon2BlockArenaPool(1), null, new VectorArgon2Compressor());
+        assertMatchesBouncyCastle(engine, type, memory, iterations, parallelism, hashLength, password, salt, secret);
+    }
+
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void parallelLanesMatchBouncyCastle(Argon2Type type, int memory, int iterations, int parallelism, int hashLength,
+                                        String password, byte[] salt, byte[] secret) {
+        Argon2Engine engine = new Argon2Engine(new Argon2BlockArenaPool(1), laneExecutor,
+                Argon2Engine.createCompressor("vector"));
+        assertMatchesBouncyCastle(engine, type, memory, iterations, parallelism, hashLength, password, salt, secret);
+    }
+
+    @Test
+    void vectorCompressorMatchesScalarCompressorOnRandomBlocks() {
+        assumeVectorModule();
+        Random random = new Random(7);
+        Argon2Compressor scalar = new ScalarArgon2Compressor();
+        Argon2Compressor vector = new VectorArgon2Compressor();
+        long[] scratchR = new long[Argon2Compressor.BLOCK_WORDS];
+        long[] scratchQ = new long[Argon2Compressor.BLOCK_WORDS];
+
+        for (int i = 0; i < 1_000; i++) {
+            long[] x = randomBlock(random);
+            long[] y = randomBlock(random);
+            long[] expected = randomBlock(random);
+            long[] actual = expected.clone();
+            boolean withXor = i % 2 == 0;
+
+            scalar.compress(x, 0, y, 0, expected, 0, withXor, scratchR, scratchQ);
+            vector.compress(x, 0, y, 0, actual, 0, withXor, scratchR, scratchQ);
+
+            assertThat(actual).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void reusedArenaProducesTheSameHash() {
+        Argon2BlockArenaPool arenaPool = new Argon2BlockArenaPool(1);
+        Argon2Engine engine = new Argon2Engine(arenaPool, null, new ScalarArgon2Compressor());
+        Argon2HashParameters parameters = new Argon2HashParameters(Argon2Type.ARGON2_ID, 256, 2, 2, 32);
+        byte[] password = "password".getBytes(StandardCharsets.UTF_8);
+        byte[] salt = new byte[16];
+
+        byte[] first = engine.hash(parameters, password, salt, new byte[0]);
+        byte[] second = engine.hash(parameters, password, salt, new byte[0]);
+
+        assertThat(arenaPool.size()).isEqualTo(1);
+        assertThat(second).containsExactly(first);
+    }
+
+    @Test
+    void arenaLargerThanTheLocalCeilingIsNotPooled() {
+        Argon2BlockArenaPool arenaPool = new Argon2BlockArenaPool(1, 128);
+        Argon2Engine engine = new Argon2Engine(arenaPool, null, new ScalarArgon2Compressor());
+        byte[] password = "password".getBytes(StandardCharsets.UTF_8);
+        byte[] salt = new byte[16];
+
+        engine.hash(new Argon2HashParameters(Argon2Type.ARGON2_ID, 256, 1, 2, 32), password, salt, new byte[0]);
+        assertThat(arenaPool.size()).isZero();
+
+        engine.hash(new Argon2HashParameters(Argon2Type.ARGON2_ID, 128, 1, 2, 32), password, salt, new byte[0]);
+        assertThat(arenaPool.size()).isEqualTo(1);
+    }
+
+    private static void assertMatchesBouncyCastle(Argon2Engine engine, Argon2Type type, int memory, int iterations,
+                                                  int parallelism, int hashLength, String password,
+                                                  byte[] salt, byte[] secret) {
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(new Argon2Parameters.Builder(type.getId())
+                .withSalt(salt)
+                .withSecret(secret)
+                .withParallelism(parallelism)
+                .withMemoryAsKB(memory)
+                .withIterations(iterations)
+                .build());
+        byte[] expected = new byte[hashLength];
+        generator.generateBytes(password.toCharArray(), expected);
+
+        byte[] actual = engine.hash(new Argon2HashParameters(type, memory, iterations, parallelism, hashLength),
+                password.getBytes(StandardCharsets.UTF_8), salt, secret);
+
+        assertThat(actual).containsExactly(expected);
+    }
+
+    private static void assumeVectorModule() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "jdk.incubator.vector is not enabled");
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static long[] randomBlock(Random random) {
+        long[] block = new long[Argon2Compressor.BLOCK_WORDS];
+        for (int i = 0; i < block.length; i++) {
+            block[i] = random.nextLong();
+        }
+        return block;
+    }
+}
@@ -0,0 +1,138 @@
+package am.registration.system.demo.security.password;
+
+import am.registration.system.demo.exception.InvalidEncodedPasswordException;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the stored password formats of {@link Argon2Hashing}: PHC strings written by {@code encode},
+ * legacy {@code salt:secret:hash} passwords verified with the legacy costs, which hashes are reported
+ * for upgrade, and the rejection of malformed stored passwords.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 20:44:52
+ */
+class Argon2HashingTest {
+
+    private static final int MEMORY = 64;
+    private static final int ITERATIONS = 2;
+    private static final int PARALLELISM = 1;
+    private static final int HASH_LENGTH = 32;
+    private static final String PEPPER = "pepper";
+
+    private Argon2Properties properties;
+    private Argon2HashingExecutor executor;
+    private Argon2Hashing argon2Hashing;
+
+    @BeforeEach
+    void createEncoder() {
+        properties = mock(Argon2Properties.class);
+        when(properties.getMemory()).thenReturn(MEMORY);
+        when(properties.getIterations()).thenReturn(ITERATIONS);
+        when(properties.getParallelism()).thenReturn(PARALLELISM);
+        when(properties.getHashLength()).thenReturn(HASH_LENGTH);
+        when(properties.getSaltLength()).thenReturn(16);
+        when(properties.getSecret()).thenReturn(PEPPER);
+        when(properties.getLegacyMemory()).thenReturn(MEMORY);
+        when(properties.getLegacyIterations()).thenReturn(ITERATIONS);
+        when(properties.getLegacyParallelism()).thenReturn(PARALLELISM);
+        when(properties.getMemoryBudget()).thenReturn(1024);
+        when(properties.getQueueCapacity()).thenReturn(4);
+        when(properties.getQueueTimeout()).thenReturn(10_000L);
+        when(properties.getHashingPoolSize()).thenReturn(1);
+
+        Argon2Engine engine = new Argon2Engine(new Argon2BlockArenaPool(1), null, new ScalarArgon2Compressor());
+        executor = new Argon2HashingExecutor(properties);
+        argon2Hashing = new Argon2Hashing(engine, new Argon2Calibrator(engine, properties), properties, executor);
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Test
+    void encodesPhcStringThatMatchesOnlyThePassword() {
+        String encoded = argon2Hashing.encode("correct horse");
+
+        assertThat(encoded).startsWith("$argon2id$v=19$m=64,t=2,p=1$");
+        assertThat(argon2Hashing.matches("correct horse", encoded)).isTrue();
+        assertThat(argon2Hashing.matches("correct horses", encoded)).isFalse();
+        assertThat(argon2Hashing.upgradeEncoding(encoded)).isFalse();
+    }
+
+    @Test
+    void verifiesLegacyPasswordWithItsStoredSecret() {
+        String encoded = legacyHash("correct horse", "stored-secret");
+
+        assertThat(argon2Hashing.matches("correct horse", encoded)).isTrue();
+        assertThat(argon2Hashing.matches("wrong horse", encoded)).isFalse();
+    }
+
+    @Test
+    void upgradesLegacyPasswords() {
+        assertThat(argon2Hashing.upgradeEncoding(legacyHash("correct horse", "stored-secret"))).isTrue();
+    }
+
+    @Test
+    void upgradesHashesWithOtherParameters() {
+        assertThat(argon2Hashing.upgradeEncoding(phcHash(Argon2Type.ARGON2_ID, MEMORY / 2, ITERATIONS))).isTrue();
+        assertThat(argon2Hashing.upgradeEncoding(phcHash(Argon2Type.ARGON2_ID, MEMORY, ITERATIONS - 1))).isTrue();
+        assertThat(argon2Hashing.upgradeEncoding(phcHash(Argon2Type.ARGON2_I, MEMORY, ITERATIONS))).isTrue();
+        assertThat(argon2Hashing.upgradeEncoding(phcHash(Argon2Type.ARGON2_ID, MEMORY * 2, ITERATIONS))).isTrue();
+    }
+
+    @Test
+    void upgradesOnlyWeakerHashesWhenCalibrated() {
+        when(properties.isCalibrate()).thenReturn(true);
+
+        assertThat(argon2Hashing.upgradeEncoding(phcHash(Argon2Type.ARGON2_ID, MEMORY / 2, ITERATIONS))).isTrue();
+        assertThat(argon2Hashing.upgradeEncoding(phcHash(Argon2Type.ARGON2_ID, MEMORY, ITERATIONS - 1))).isTrue();
+        assertThat(argon2Hashing.upgradeEncoding(phcHash(Argon2Type.ARGON2_ID, MEMORY, ITERATIONS))).isFalse();
+        assertThat(argon2Hashing.upgradeEncoding(phcHash(Argon2Type.ARGON2_ID, MEMORY * 2, 1))).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "plain-text", "c2FsdA==:aGFzaA==", "c2FsdA==:c2VjcmV0:aGFzaA==:extra",
+            "c2F*dA==:c2VjcmV0:aGFzaA==", "c2FsdA==:c2VjcmV0:aA==", "$argon2id$v=19$m=64,t=2$c2FsdA$aGFzaA"})
+    void rejectsMalformedStoredPasswords(String encoded) {
+        assertThatThrownBy(() -> argon2Hashing.matches("correct horse", encoded))
+                .isInstanceOf(InvalidEncodedPasswordException.class);
+    }
+
+    private static String phcHash(Argon2Type type, int memory, int iterations) {
+        return new Argon2PhcHash(new Argon2HashParameters(type, memory, iterations, PARALLELISM, HASH_LENGTH),
+                new byte[16], new byte[HASH_LENGTH]).format();
+    }
+
+    private static String legacyHash(String password, String secret) {
+        byte[] salt = "legacy-salt-0123".getBytes(StandardCharsets.US_ASCII);
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(new Argon2Parameters.Builder(Argon2Parameters.ARGON2_i)
+                .withSalt(salt)
+                .withSecret(secretBytes)
+                .withParallelism(PARALLELISM)
+                .withMemoryAsKB(MEMORY)
+                .withIterations(ITERATIONS)
+                .build());
+        byte[] hash = new byte[HASH_LENGTH];
+        generator.generateBytes(password.toCharArray(), hash);
+        Base64.Encoder encoder = Base64.getEncoder();
+        return encoder.encodeToString(salt) + ":" + encoder.encodeToString(secretBytes) + ":" + encoder.encodeToString(hash);
+    }
+}
@@ -0,0 +1,75 @@
+package am.registration.system.demo.security.password;
+
+import am.registration.system.demo.exception.InvalidEncodedPasswordException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that stored PHC strings are written and read back exactly, and that malformed strings are
+ * rejected as invalid encoded passwords rather than with an arbitrary runtime exception.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 20:31:06
+ */
+class Argon2PhcHashTest {
+
+    @Test
+    void formatsAndParsesBackTheSameHash() {
+        Argon2HashParameters parameters = new Argon2HashParameters(Argon2Type.ARGON2_ID, 65536, 3, 2, 32);
+        byte[] salt = "sixteen byte slt".getBytes(StandardCharsets.US_ASCII);
+        byte[] hash = new byte[32];
+        for (int i = 0; i < hash.length; i++) {
+            hash[i] = (byte) (i * 7);
+        }
+
+        String encoded = new Argon2PhcHash(parameters, salt, hash).format();
+        Argon2PhcHash parsed = Argon2PhcHash.parse(encoded);
+
+        assertThat(encoded).startsWith("$argon2id$v=19$m=65536,t=3,p=2$");
+        assertThat(encoded.substring(encoded.lastIndexOf(',') + 1)).doesNotContain("=");
+        assertThat(parsed.parameters()).isEqualTo(parameters);
+        assertThat(parsed.salt()).containsExactly(salt);
+        assertThat(parsed.hash()).containsExactly(hash);
+        assertThat(parsed.format()).isEqualTo(encoded);
+    }
+
+    @Test
+    void parsesParametersInAnyOrder() {
+        Argon2PhcHash parsed = Argon2PhcHash.parse("$argon2i$v=19$p=1,t=2,m=64$c2FsdHNhbHQ$aGFzaGhhc2g");
+
+        assertThat(parsed.parameters()).isEqualTo(new Argon2HashParameters(Argon2Type.ARGON2_I, 64, 2, 1, 8));
+    }
+
+    @Test
+    void recognizesOnlyPhcStrings() {
+        assertThat(Argon2PhcHash.isPhcString("$argon2id$v=19$m=64,t=1,p=1$c2FsdA$aGFzaA")).isTrue();
+        assertThat(Argon2PhcHash.isPhcString("c2FsdA==:c2VjcmV0:aGFzaA==")).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "$argon2id$v=19$m=64,t=1,p=1$c2FsdA",
+            "$argon2id$v=19$m=64,t=1,p=1$c2FsdA$aGFzaA$extra",
+            "argon2id$v=19$m=64,t=1,p=1$c2FsdA$aGFzaA$",
+            "$argon2id$v=16$m=64,t=1,p=1$c2FsdA$aGFzaA",
+            "$argon2x$v=19$m=64,t=1,p=1$c2FsdA$aGFzaA",
+            "$argon2id$v=19$m=64,t=1,p=1,x=2$c2FsdA$aGFzaA",
+            "$argon2id$v=19$m=64,t=1$c2FsdA$aGFzaA",
+            "$argon2id$v=19$m=sixty,t=1,p=1$c2FsdA$aGFzaA",
+            "$argon2id$v=19$m,t=1,p=1$c2FsdA$aGFzaA",
+            "$argon2id$v=19$m=4,t=1,p=1$c2FsdA$aGFzaA",
+            "$argon2id$v=19$m=64,t=1,p=1$c2F*sdA$aGFzaA",
+            "$argon2id$v=19$m=64,t=1,p=1$c2FsdA$aGE"
+    })
+    void rejectsMalformedStrings(String encoded) {
+        assertThatThrownBy(() -> Argon2PhcHash.parse(encoded))
+                .isInstanceOf(InvalidEncodedPasswordException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package am.registration.system.demo.service.user.bulkimport;
+
+import am.registration.system.demo.service.user.export.UserExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Checks that the {@link UserImportReader} reads NDJSON lines and multi-line CSV records, reporting unreadable rows
+ * as row errors at the line they start on.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 19:12:40
+ */
+class UserImportReaderTest {
+
+    private static final String CSV_HEADER = "id,created_date,updated_date,username,full_name,password,email,phone,age,user_state\n";
+
+    private static UserImportReader reader(final UserExportFormat format, final String upload) {
+        return new UserImportReader(format, new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), new ObjectMapper());
+    }
+
+    @Test
+    void readsNdjsonRowsAndSkipsBlankLines() throws IOException {
+        List<UserImportReader.Row> rows = reader(UserExportFormat.NDJSON, """
+                {"username":"jdoe1","fullName":"John Doe","age":30}
+
+                {"username":"jroe2","fullName":"Jane Roe","age":40}
+                """).read(10);
+
+        assertThat(rows).extracting(UserImportReader.Row::line).containsExactly(1L, 3L);
+        assertThat(rows).extracting(row -> row.request().getUsername()).containsExactly("jdoe1", "jroe2");
+        assertThat(rows).extracting(UserImportReader.Row::error).containsOnlyNulls();
+    }
+
+    @Test
+    void nullNdjsonLineIsARowError() throws IOException {
+        List<UserImportReader.Row> rows = reader(UserExportFormat.NDJSON, "null\n{\"username\":\"jdoe1\"}\n").read(10);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.getFirst().request()).isNull();
+        assertThat(rows.getFirst().error()).startsWith("Malformed JSON");
+        assertThat(rows.get(1).request().getUsername()).isEqualTo("jdoe1");
+    }
+
+    @Test
+    void malformedNdjsonLineIsARowError() throws IOException {
+        List<UserImportReader.Row> rows = reader(UserExportFormat.NDJSON, "{\"username\":\n").read(10);
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.request()).isNull();
+            assertThat(row.error()).startsWith("Malformed JSON");
+        });
+    }
+
+    @Test
+    void readsQuotedCsvFieldsSpanningLines() throws IOException {
+        List<UserImportReader.Row> rows = reader(UserExportFormat.CSV, CSV_HEADER
+                + "1,,,jdoe1,\"Doe, \"\"John\"\"\r\nJr\",Secret#123,jdoe@example.com,+37493609556,30,ACTIVE\r\n"
+                + "2,,,jroe2,Jane Roe,Secret#123,jroe@example.com,+37493609557,40,ACTIVE\n").read(10);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.getFirst().line()).isEqualTo(2);
+        assertThat(rows.getFirst().request().getFullName()).isEqualTo("Doe, \"John\"\r\nJr");
+        assertThat(rows.getFirst().request().getAge()).isEqualTo(30);
+        assertThat(rows.get(1).line()).isEqualTo(4);
+        assertThat(rows.get(1).request().getUsername()).isEqualTo("jroe2");
+    }
+
+    @Test
+    void readsCsvInChunks() throws IOException {
+        UserImportReader reader = reader(UserExportFormat.CSV, CSV_HEADER
+                + "1,,,jdoe1,John Doe,Secret#123,jdoe@example.com,+37493609556,30,ACTIVE\n"
+                + "2,,,jroe2,Jane Roe,Secret#123,jroe@example.com,+37493609557,40,ACTIVE\n");
+
+        assertThat(reader.read(1)).extracting(row -> row.request().getUsername()).containsExactly("jdoe1");
+        assertThat(reader.read(1)).extracting(row -> row.request().getUsername()).containsExactly("jroe2");
+        assertThat(reader.read(1)).isEmpty();
+    }
+
+    @Test
+    void invalidCsvAgeAndUnterminatedQuoteAreRowErrors() throws IOException {
+        List<UserImportReader.Row> rows = reader(UserExportFormat.CSV, CSV_HEADER
+                + "1,,,jdoe1,John Doe,Secret#123,jdoe@example.com,+37493609556,thirty,ACTIVE\n"
+                + "2,,,jroe2,\"Jane Roe,Secret#123,jroe@example.com,+37493609557,40,ACTIVE\n").read(10);
+
+        assertThat(rows).extracting(UserImportReader.Row::line).containsExactly(2L, 3L);
+        assertThat(rows).extracting(UserImportReader.Row::error)
+                .containsExactly("Invalid age: thirty", "Malformed CSV: unterminated quoted field");
+    }
+
+    @Test
+    void csvHeaderMissingAColumnIsRejected() {
+        UserImportReader reader = reader(UserExportFormat.CSV, "username,fullName,password,email,phone\n");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> reader.read(10))
+                .withMessage("CSV header is missing the age column");
+    }
+}
@@ -0,0 +1,101 @@
+package am.registration.system.demo.util;
+
+import am.registration.system.demo.model.dto.UserPrincipal;
+import am.registration.system.demo.model.enums.Permissions;
+import am.registration.system.demo.model.enums.UserState;
+import am.registration.system.demo.security.rbac.PermissionMask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks both overloads of the {@link CustomPermissionEvaluator}: access requires the principal to own the target
+ * user and to hold every requested permission in its permission mask.
+ * *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 21:02:15
+ */
+class CustomPermissionEvaluatorTest {
+
+    private static final int OWNER_ID = 7;
+
+    private final CustomPermissionEvaluator evaluator = new CustomPermissionEvaluator();
+    private final Authentication owner = authentication(EnumSet.of(Permissions.UPDATE_PROFILE, Permissions.VIEW_OWN_CONTENT));
+
+    @Test
+    void grantsOwnerHoldingThePermission() {
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, Permissions.UPDATE_PROFILE)).isTrue();
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, "UPDATE_PROFILE")).isTrue();
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, "USER", "UPDATE_PROFILE")).isTrue();
+    }
+
+    @Test
+    void grantsOwnerHoldingEveryListedPermission() {
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, "UPDATE_PROFILE, VIEW_OWN_CONTENT")).isTrue();
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, "user", "UPDATE_PROFILE,VIEW_OWN_CONTENT")).isTrue();
+    }
+
+    @Test
+    void deniesOwnerWithoutThePermission() {
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, Permissions.MODERATE_USERS)).isFalse();
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, "USER", "MODERATE_USERS")).isFalse();
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, "UPDATE_PROFILE,MODERATE_USERS")).isFalse();
+    }
+
+    @Test
+    void deniesNonOwnerEvenWithThePermission() {
+        assertThat(evaluator.hasPermission(owner, OWNER_ID + 1, Permissions.UPDATE_PROFILE)).isFalse();
+        assertThat(evaluator.hasPermission(owner, OWNER_ID + 1, "USER", "UPDATE_PROFILE")).isFalse();
+    }
+
+    @Test
+    void deniesUnknownPermissionName() {
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, "UPDATE_EVERYTHING")).isFalse();
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, "USER", "UPDATE_PROFILE,UPDATE_EVERYTHING")).isFalse();
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", " ", " , "})
+    void blankPermissionRequiresOwnershipOnly(String permission) {
+        Authentication withoutPermissions = authentication(EnumSet.noneOf(Permissions.class));
+
+        assertThat(evaluator.hasPermission(withoutPermissions, OWNER_ID, permission)).isTrue();
+        assertThat(evaluator.hasPermission(withoutPermissions, OWNER_ID + 1, permission)).isFalse();
+    }
+
+    @Test
+    void deniesPrincipalThatIsNotAUserPrincipal() {
+        Authentication authentication = new TestingAuthenticationToken("alice", null, "ROLE_USER");
+
+        assertThat(evaluator.hasPermission(authentication, OWNER_ID, "UPDATE_PROFILE")).isFalse();
+        assertThat(evaluator.hasPermission(authentication, OWNER_ID, "USER", "UPDATE_PROFILE")).isFalse();
+        assertThat(evaluator.hasPermission(null, OWNER_ID, "UPDATE_PROFILE")).isFalse();
+    }
+
+    @Test
+    void deniesUnsupportedTargetTypeOrId() {
+        assertThat(evaluator.hasPermission(owner, OWNER_ID, "ORDER", "UPDATE_PROFILE")).isFalse();
+        assertThat(evaluator.hasPermission(owner, (long) OWNER_ID, "USER", "UPDATE_PROFILE")).isFalse();
+        assertThat(evaluator.hasPermission(owner, String.valueOf(OWNER_ID), "UPDATE_PROFILE")).isFalse();
+    }
+
+    private static Authentication authentication(EnumSet<Permissions> permissions) {
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        UserPrincipal principal = new UserPrincipal(OWNER_ID, "alice", null, "alice@example.com",
+                authorities, UserState.ACTIVE, PermissionMask.of(permissions));
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+}
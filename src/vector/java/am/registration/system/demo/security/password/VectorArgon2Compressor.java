@@ -0,0 +1,128 @@
+package am.registration.system.demo.security.password;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The Argon2 compression function on the incubator Vector API.
+ * <p>
+ * The sixteen words of a BLAKE2b round are held in four 256-bit {@link LongVector}s
+ * {@code a = (v0..v3)}, {@code b = (v4..v7)}, {@code c = (v8..v11)}, {@code d = (v12..v15)}, so the four
+ * column mixes run as one lane-wise mix. For the diagonal mixes {@code b}, {@code c} and {@code d} are
+ * rotated by one, two and three lanes, mixed, and rotated back. Rows are loaded in place; the
+ * sixteen words of each column pair are first copied into a contiguous scratch block, since a
+ * gather per vector costs more than the copy. {@code x ^ y} is kept in the output block, which
+ * leaves the second scratch block free for that copy.
+ * </p>
+ * <p>
+ * Requires {@code --add-modules jdk.incubator.vector}: the class must not be loaded unless the module
+ * is present. {@link #isSupported()} then tells whether the hardware has 256-bit vectors. It lives in
+ * the {@code vector} source set, the only one compiled with the incubator module, and
+ * {@link Argon2Engine#createCompressor(String)} loads it by name.
+ * </p>
+ *
+ * Author: Artyom Aroyan
+ * Date: 17.10.26
+ * Time: 16:12:35
+ */
+final class VectorArgon2Compressor implements Argon2Compressor {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_256;
+    private static final int LANES = SPECIES.length();
+    private static final long LOW_32_BITS = 0xFFFFFFFFL;
+
+    private static final VectorShuffle<Long> ROTATE_BY_ONE = VectorShuffle.fromValues(SPECIES, 1, 2, 3, 0);
+    private static final VectorShuffle<Long> ROTATE_BY_TWO = VectorShuffle.fromValues(SPECIES, 2, 3, 0, 1);
+    private static final VectorShuffle<Long> ROTATE_BY_THREE = VectorShuffle.fromValues(SPECIES, 3, 0, 1, 2);
+
+    /**
+     * Checks whether the preferred vector shape of the platform holds four longs.
+     *
+     * @return true if this compressor runs on native 256-bit (or wider) vectors
+     */
+    static boolean isSupported() {
+        return LongVector.SPECIES_PREFERRED.length() >= LANES;
+    }
+
+    @Override
+    public void compress(final long[] x, final int xOffset, final long[] y, final int yOffset,
+                         final long[] out, final int outOffset, final boolean withXor,
+                         final long[] scratchR, final long[] scratchQ) {
+        for (int i = 0; i < BLOCK_WORDS; i += LANES) {
+            LongVector r = LongVector.fromArray(SPECIES, x, xOffset + i)
+                    .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, y, yOffset + i));
+            r.intoArray(scratchQ, i);
+            if (withXor) {
+                r = r.lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, out, outOffset + i));
+            }
+            r.intoArray(out, outOffset + i);
+        }
+
+        for (int row = 0; row < BLOCK_WORDS; row += 16) {
+            round(scratchQ, row);
+        }
+        long[] column = scratchR;
+        for (int first = 0; first < 16; first += 2) {
+            for (int k = 0; k < 8; k++) {
+                column[2 * k] = scratchQ[first + 16 * k];
+                column[2 * k + 1] = scratchQ[first + 16 * k + 1];
+            }
+            round(column, 0);
+            for (int k = 0; k < 8; k++) {
+                scratchQ[first + 16 * k] = column[2 * k];
+                scratchQ[first + 16 * k + 1] = column[2 * k + 1];
+            }
+        }
+
+        for (int i = 0; i < BLOCK_WORDS; i += LANES) {
+            LongVector.fromArray(SPECIES, out, outOffset + i)
+                    .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, scratchQ, i))
+                    .intoArray(out, outOffset + i);
+        }
+    }
+
+    /**
+     * One BLAKE2b round over the sixteen contiguous words at {@code offset}: the column mixes on
+     * the vectors as loaded, then the diagonal mixes on the lane-rotated vectors.
+     */
+    private static void round(final long[] v, final int offset) {
+        LongVector a = LongVector.fromArray(SPECIES, v, offset);
+        LongVector b = LongVector.fromArray(SPECIES, v, offset + 4);
+        LongVector c = LongVector.fromArray(SPECIES, v, offset + 8);
+        LongVector d = LongVector.fromArray(SPECIES, v, offset + 12);
+
+        a = blaMka(a, b);
+        d = d.lanewise(VectorOperators.XOR, a).lanewise(VectorOperators.ROR, 32);
+        c = blaMka(c, d);
+        b = b.lanewise(VectorOperators.XOR, c).lanewise(VectorOperators.ROR, 24);
+        a = blaMka(a, b);
+        d = d.lanewise(VectorOperators.XOR, a).lanewise(VectorOperators.ROR, 16);
+        c = blaMka(c, d);
+        b = b.lanewise(VectorOperators.XOR, c).lanewise(VectorOperators.ROR, 63);
+
+        b = b.rearrange(ROTATE_BY_ONE);
+        c = c.rearrange(ROTATE_BY_TWO);
+        d = d.rearrange(ROTATE_BY_THREE);
+
+        a = blaMka(a, b);
+        d = d.lanewise(VectorOperators.XOR, a).lanewise(VectorOperators.ROR, 32);
+        c = blaMka(c, d);
+        b = b.lanewise(VectorOperators.XOR, c).lanewise(VectorOperators.ROR, 24);
+        a = blaMka(a, b);
+        d = d.lanewise(VectorOperators.XOR, a).lanewise(VectorOperators.ROR, 16);
+        c = blaMka(c, d);
+        b = b.lanewise(VectorOperators.XOR, c).lanewise(VectorOperators.ROR, 63);
+
+        a.intoArray(v, offset);
+        b.rearrange(ROTATE_BY_THREE).intoArray(v, offset + 4);
+        c.rearrange(ROTATE_BY_TWO).intoArray(v, offset + 8);
+        d.rearrange(ROTATE_BY_ONE).intoArray(v, offset + 12);
+    }
+
+    private static LongVector blaMka(final LongVector x, final LongVector y) {
+        LongVector product = x.and(LOW_32_BITS).mul(y.and(LOW_32_BITS));
+        return x.add(y).add(product).add(product);
+    }
+}